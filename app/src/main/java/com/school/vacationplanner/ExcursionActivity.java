@@ -2,7 +2,6 @@ package com.school.vacationplanner;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
@@ -19,6 +18,7 @@ import com.school.vacationplanner.fragments.VacationDialogFragment;
 import com.school.vacationplanner.models.Excursion;
 import com.school.vacationplanner.models.Vacation;
 import com.school.vacationplanner.repo.VacationPlannerRepository;
+import com.school.vacationplanner.util.AppLog;
 import com.school.vacationplanner.workers.ExcursionNotificationWorker;
 import com.school.vacationplanner.workers.VacationNotificationWorker;
 
@@ -46,10 +46,10 @@ public class ExcursionActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_excursion);
-        Log.d(TAG, "onCreate: Activity created");
+        AppLog.d(TAG, "onCreate: Activity created");
 
         vacationId = getIntent().getLongExtra("vacationId", -1);
-        Log.d(TAG, "onCreate: Vacation ID = " + vacationId);
+        AppLog.d(TAG, "onCreate: Vacation ID = {}", vacationId);
 
         setUpToolbar();
         setUpRecyclerView();
@@ -59,35 +59,34 @@ public class ExcursionActivity extends AppCompatActivity {
     @Override
     public boolean onCreateOptionsMenu(android.view.Menu menu) {
         getMenuInflater().inflate(R.menu.menu_excursion, menu);
-        Log.d(TAG, "onCreateOptionsMenu: Menu created");
+        AppLog.d(TAG, "onCreateOptionsMenu: Menu created");
         return true;
     }
 
     @Override
     public boolean onOptionsItemSelected(android.view.MenuItem item) {
-        Log.d(TAG, "onOptionsItemSelected: Selected item ID = " + item.getItemId());
+        AppLog.d(TAG, "onOptionsItemSelected: Selected item ID = {}", item.getItemId());
         if (item.getItemId() == R.id.action_add_excursion) {
-            Log.d(TAG, "onOptionsItemSelected: Add Excursion selected");
+            AppLog.d(TAG, "onOptionsItemSelected: Add Excursion selected");
             ExcursionDialogFragment addExcursionDialog = new ExcursionDialogFragment(vacationId);
             addExcursionDialog.show(getSupportFragmentManager().beginTransaction(), "NewExcursionDialog");
             addExcursionDialog.setExcursionAddedListener(excursion -> {
-                Log.d(TAG, "onOptionsItemSelected: Excursion added, saving to repository");
+                AppLog.d(TAG, "onOptionsItemSelected: Excursion added, saving to repository");
                 VacationPlannerRepository.getInstance(this).addExcursion(excursion, success -> {
                     if (success > 0) {
-                        Log.d(TAG, "onOptionsItemSelected: Excursion saved successfully");
-                        runOnUiThread(this::loadExcursions);
+                        AppLog.d(TAG, "onOptionsItemSelected: Excursion saved successfully");
                     } else {
-                        Log.e(TAG, "onOptionsItemSelected: Failed to save excursion");
+                        AppLog.e(TAG, "onOptionsItemSelected: Failed to save excursion");
                     }
                 });
             });
             return true;
         } else if (item.getItemId() == R.id.action_preferences) {
-            Log.d(TAG, "onOptionsItemSelected: Preferences selected");
+            AppLog.d(TAG, "onOptionsItemSelected: Preferences selected");
             startActivity(new Intent(this, SettingsActivity.class));
             return true;
         } else if (item.getItemId() == android.R.id.home) {
-            Log.d(TAG, "onOptionsItemSelected: Home button selected, finishing activity");
+            AppLog.d(TAG, "onOptionsItemSelected: Home button selected, finishing activity");
             finish();
             return true;
         }
@@ -97,7 +96,7 @@ public class ExcursionActivity extends AppCompatActivity {
 
     // custom methods
     private void setUpRecyclerView() {
-        Log.d(TAG, "setUpRecyclerView: Setting up RecyclerView");
+        AppLog.d(TAG, "setUpRecyclerView: Setting up RecyclerView");
         RecyclerView recyclerView = findViewById(R.id.excursion_recycler_view);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         adapter = new ExcursionAdapter(this);
@@ -106,22 +105,18 @@ public class ExcursionActivity extends AppCompatActivity {
         adapter.setOnExcursionClickListener(new ExcursionAdapter.OnExcursionClickListener() {
             @Override
             public void onExcursionEdit(Excursion excursion) {
-                Log.d(TAG, "onExcursionEdit: Editing excursion with ID: " + excursion.getId());
+                AppLog.d(TAG, "onExcursionEdit: Editing excursion with ID: {}", excursion.getId());
                 showEditExcursionDialog(excursion);
             }
 
             @Override
             public void onExcursionDelete(Excursion excursion) {
-                Log.d(TAG, "onExcursionDelete: Deleting excursion with ID: " + excursion.getId());
+                AppLog.d(TAG, "onExcursionDelete: Deleting excursion with ID: {}", excursion.getId());
                 VacationPlannerRepository.getInstance(ExcursionActivity.this).deleteExcursion(excursion, success -> {
                     if (success) {
-                        Log.d(TAG, "onExcursionDelete: Excursion deleted successfully");
-                        runOnUiThread(() -> {
-                            excursionList.remove(excursion);
-                            loadExcursions();
-                        });
+                        AppLog.d(TAG, "onExcursionDelete: Excursion deleted successfully");
                     } else {
-                        Log.e(TAG, "onExcursionDelete: Failed to delete excursion");
+                        AppLog.e(TAG, "onExcursionDelete: Failed to delete excursion");
                     }
                 });
             }
@@ -129,7 +124,7 @@ public class ExcursionActivity extends AppCompatActivity {
     }
 
     private void setUpToolbar() {
-        Log.d(TAG, "setUpToolbar: Setting up toolbar");
+        AppLog.d(TAG, "setUpToolbar: Setting up toolbar");
         Toolbar toolbar = findViewById(R.id.excursion_toolbar);
         toolbar.setTitle(EXCURSION_TITLE_BAR);
         setSupportActionBar(toolbar);
@@ -137,23 +132,17 @@ public class ExcursionActivity extends AppCompatActivity {
     }
 
     private void loadExcursions() {
-        Log.d(TAG, "loadExcursions: Loading excursions for vacation ID = " + vacationId);
-        VacationPlannerRepository.getInstance(this).getExcursionsForVacation(vacationId, excursions -> {
-            runOnUiThread(() -> {
-                if (excursions != null) {
-                    Log.d(TAG, "loadExcursions: Excursions loaded, count = " + excursions.size());
-                    excursionList.clear();
-                    excursionList.addAll(excursions);
-                    adapter.setExcursions(excursions);
-                } else {
-                    Log.e(TAG, "loadExcursions: Failed to load excursions");
-                }
-            });
+        AppLog.d(TAG, "loadExcursions: Loading excursions for vacation ID = {}", vacationId);
+        VacationPlannerRepository.getInstance(this).observeExcursionsForVacation(vacationId).observe(this, excursions -> {
+            AppLog.d(TAG, "loadExcursions: Excursions loaded, count = {}", excursions.size());
+            excursionList.clear();
+            excursionList.addAll(excursions);
+            adapter.setExcursions(excursions);
         });
     }
 
     private void showEditExcursionDialog(Excursion excursion) {
-        Log.d(TAG, "showEditExcursionDialog: Editing excursion, excursion ID: " + excursion.getId());
+        AppLog.d(TAG, "showEditExcursionDialog: Editing excursion, excursion ID: {}", excursion.getId());
         ExcursionDialogFragment dialog = new ExcursionDialogFragment(vacationId);
 
         Bundle args = new Bundle();
@@ -163,9 +152,7 @@ public class ExcursionActivity extends AppCompatActivity {
         dialog.setArguments(args);
 
         dialog.setExcursionAddedListener(updatedExcursion -> {
-            Log.d(TAG, "showEditExcursionDialog: Excursion edited");
-            excursionList.set(excursionList.indexOf(excursion), updatedExcursion);
-            adapter.setExcursions(new ArrayList<>(excursionList));
+            AppLog.d(TAG, "showEditExcursionDialog: Excursion edited");
             VacationPlannerRepository.getInstance(this).editExcursion(updatedExcursion);
             runOnUiThread(() -> {
                 Toast.makeText(this, EXCURSION_UPDATED, Toast.LENGTH_SHORT).show();
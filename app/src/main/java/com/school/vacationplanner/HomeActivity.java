@@ -2,12 +2,13 @@ package com.school.vacationplanner;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.View;
 import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.school.vacationplanner.util.AppLog;
+
 public class HomeActivity extends AppCompatActivity {
 
 
@@ -21,12 +22,12 @@ public class HomeActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_home);
 
-        Log.d(TAG, "onCreate: HomeActivity started");
+        AppLog.d(TAG, "onCreate: HomeActivity started");
 
         // Set a click listener on the root view to navigate to VacationActivity
         View rootView = findViewById(R.id.home_root_view);
         rootView.setOnClickListener(v -> {
-            Log.d(TAG, "onCreate: Screen tapped, navigating to VacationActivity");
+            AppLog.d(TAG, "onCreate: Screen tapped, navigating to VacationActivity");
             Intent intent = new Intent(HomeActivity.this, VacationActivity.class);
             startActivity(intent);
             finish();
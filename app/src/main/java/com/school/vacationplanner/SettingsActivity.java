@@ -2,7 +2,6 @@ package com.school.vacationplanner;
 
 import android.content.SharedPreferences;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.MenuItem;
 
 import androidx.appcompat.app.ActionBar;
@@ -11,6 +10,7 @@ import androidx.appcompat.widget.Toolbar;
 import androidx.preference.PreferenceFragmentCompat;
 import androidx.preference.PreferenceManager;
 
+import com.school.vacationplanner.util.AppLog;
 import com.school.vacationplanner.util.NotificationUtility;
 
 import java.util.Objects;
@@ -33,16 +33,16 @@ public class SettingsActivity extends AppCompatActivity {
         // override methods
         @Override
         public void onCreatePreferences(Bundle savedInstanceState, String rootKey) {
-            Log.d(TAG, "onCreatePreferences: Called with rootKey: " + rootKey);
+            AppLog.d(TAG, "onCreatePreferences: Called with rootKey: {}", rootKey);
             setPreferencesFromResource(R.xml.root_preferences, rootKey);
         }
 
         @Override
         public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
-            Log.d(TAG, "onCreatePreferences: Preference changed: " + key);
+            AppLog.d(TAG, "onCreatePreferences: Preference changed: {}", key);
             if (key.equals("notifications_enabled")) {
                 boolean isEnabled = sharedPreferences.getBoolean(key, true);
-                Log.d(TAG, "onCreatePreferences: notifications_enabled changed to: " + isEnabled);
+                AppLog.d(TAG, "onCreatePreferences: notifications_enabled changed to: {}", isEnabled);
                 NotificationUtility.setNotificationsEnabled(isEnabled);
             }
         }
@@ -50,7 +50,7 @@ public class SettingsActivity extends AppCompatActivity {
         @Override
         public void onResume() {
             super.onResume();
-            Log.d(TAG, "onResume: Called");
+            AppLog.d(TAG, "onResume: Called");
             SharedPreferences sharedPreferences = PreferenceManager.getDefaultSharedPreferences(getActivity());
             sharedPreferences.registerOnSharedPreferenceChangeListener(this);
         }
@@ -58,7 +58,7 @@ public class SettingsActivity extends AppCompatActivity {
         @Override
         public void onPause() {
             super.onPause();
-            Log.d(TAG, "onPause: Called");
+            AppLog.d(TAG, "onPause: Called");
             SharedPreferences sharedPreferences = PreferenceManager.getDefaultSharedPreferences(getActivity());
             sharedPreferences.unregisterOnSharedPreferenceChangeListener(this);
         }
@@ -68,11 +68,11 @@ public class SettingsActivity extends AppCompatActivity {
     // override methods
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        Log.d(TAG, "onCreate: Activity created");
+        AppLog.d(TAG, "onCreate: Activity created");
         super.onCreate(savedInstanceState);
         setContentView(R.layout.settings_activity);
         if (savedInstanceState == null) {
-            Log.d(TAG, "onCreate: Initializing SettingsFragment");
+            AppLog.d(TAG, "onCreate: Initializing SettingsFragment");
             getSupportFragmentManager()
                     .beginTransaction()
                     .replace(R.id.settings, new SettingsFragment())
@@ -85,7 +85,7 @@ public class SettingsActivity extends AppCompatActivity {
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
-            Log.d(TAG, "onOptionsItemSelected: Back button clicked");
+            AppLog.d(TAG, "onOptionsItemSelected: Back button clicked");
             finish();
             return true;
         }
@@ -95,7 +95,7 @@ public class SettingsActivity extends AppCompatActivity {
 
     // custom methods
     private void setUpToolbar() {
-        Log.d(TAG, "setUpToolbar: Setting up toolbar");
+        AppLog.d(TAG, "setUpToolbar: Setting up toolbar");
         Toolbar toolbar = findViewById(R.id.settings_toolbar);
         toolbar.setTitle(SETTINGS_TITLE_BAR);
         setSupportActionBar(toolbar);
@@ -3,29 +3,39 @@ package com.school.vacationplanner;
 import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
-import android.util.Log;
+import android.view.MenuItem;
 import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
 import androidx.appcompat.widget.Toolbar;
+import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
-import androidx.work.OneTimeWorkRequest;
-import androidx.work.WorkManager;
-import androidx.work.WorkRequest;
 
 import com.school.vacationplanner.adapters.VacationAdapter;
 import com.school.vacationplanner.fragments.VacationDialogFragment;
-import com.school.vacationplanner.models.Excursion;
 import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.repo.VacationPagingSource;
 import com.school.vacationplanner.repo.VacationPlannerRepository;
-import com.school.vacationplanner.workers.ExcursionNotificationWorker;
-import com.school.vacationplanner.workers.VacationNotificationWorker;
-
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.SharePayloadGenerator;
+import com.school.vacationplanner.util.Tracing;
+import com.school.vacationplanner.workers.ReminderScheduler;
+
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 public class VacationActivity extends AppCompatActivity {
 
@@ -45,15 +55,37 @@ public class VacationActivity extends AppCompatActivity {
     private static final String INVALID_DELETE_EXCURSIONS_EXIST = "Cannot delete vacation with excursions";
     private static final String INVALID_VACATION_ADDED = "Problem adding vacation";
 
+    private static final String CALENDAR_EXPORTED = "Calendar file saved";
+    private static final String INVALID_CALENDAR_EXPORT = "Problem saving calendar file";
+    private static final String BACKUP_EXPORTED = "Backup saved";
+    private static final String BACKUP_IMPORTED = "Backup restored";
+    private static final String BACKUP_IMPORT_CONFIRMATION = "Restoring a backup replaces all vacations and excursions. Continue?";
+    private static final String BACKUP_MIME_TYPE = "application/x-ndjson";
+    private static final String INVALID_BACKUP_EXPORT = "Problem saving backup";
+    private static final String INVALID_BACKUP_IMPORT = "Problem restoring backup";
+
     private static final String CLIPBOARD_COPY = "Copied to Clipboard";
     private static final String EMAIL_SEND = "Send E-mail";
+    private static final String CALENDAR_SEND = "Add to Calendar";
+    private static final String CALENDAR_MIME_TYPE = "text/calendar";
+
+    // rows left below the last visible one when the next page is requested
+    private static final int PREFETCH_DISTANCE = 10;
 
 
     // variables
     private VacationAdapter adapter;
+    private VacationPagingSource pagingSource;
     private List<Vacation> vacationList = new ArrayList<>();
     private boolean isEditing = false;
     private boolean isDeleting = false;
+    private String searchQuery = "";
+    private final ActivityResultLauncher<String> exportCalendarLauncher =
+            registerForActivityResult(new ActivityResultContracts.CreateDocument(CALENDAR_MIME_TYPE), this::exportCalendar);
+    private final ActivityResultLauncher<String> exportBackupLauncher =
+            registerForActivityResult(new ActivityResultContracts.CreateDocument(BACKUP_MIME_TYPE), this::exportBackup);
+    private final ActivityResultLauncher<String[]> importBackupLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::importBackup);
 
 
     // override methods
@@ -61,16 +93,16 @@ public class VacationActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_vacation);
-        Log.d(TAG, "onCreate: VacationActivity created");
+        AppLog.d(TAG, "onCreate: VacationActivity created");
 
         setUpToolbar();
         setUpRecyclerView();
-        scheduleVacationCheck();
-        scheduleExcursionCheck();
+        loadVacations();
+        scheduleReminders();
 
         findViewById(R.id.parent_layout).setOnClickListener(v -> {
             if (isEditing || isDeleting) {
-                Log.d(TAG, "onCreate: Canceling mode on outside click");
+                AppLog.d(TAG, "onCreate: Canceling mode on outside click");
                 toggleEditMode(false);
                 adapter.setOnItemClickListener(null);
                 isDeleting = false;
@@ -79,75 +111,95 @@ public class VacationActivity extends AppCompatActivity {
     }
 
     @Override
-    protected void onResume() {
-        super.onResume();
-        Log.d(TAG, "onResume: Activity recreated");
-        reloadVacations();
+    protected void onDestroy() {
+        AppLog.d(TAG, "onDestroy: Stopping vacation observer");
+        pagingSource.stopObserving();
+        super.onDestroy();
+    }
+
+    // adb shell dumpsys activity com.school.vacationplanner prints repository metrics after the activity state
+    @Override
+    public void dump(@NonNull String prefix, @Nullable FileDescriptor fd, @NonNull PrintWriter writer, @Nullable String[] args) {
+        super.dump(prefix, fd, writer, args);
+        VacationPlannerRepository.getInstance(this).dumpMetrics(prefix, writer);
     }
 
     @Override
     public boolean onCreateOptionsMenu(android.view.Menu menu) {
-        Log.d(TAG, "onCreateOptionsMenu: Menu created");
+        AppLog.d(TAG, "onCreateOptionsMenu: Menu created");
         getMenuInflater().inflate(R.menu.menu_vacation, menu);
+        setUpSearch(menu.findItem(R.id.action_search_vacation));
         return true;
     }
 
     @Override
     public boolean onOptionsItemSelected(android.view.MenuItem item) {
-        Log.d(TAG, "onOptionsItemSelected: Selected item ID = " + item.getItemId());
+        AppLog.d(TAG, "onOptionsItemSelected: Selected item ID = {}", item.getItemId());
         if (item.getItemId() == R.id.action_add_vacation) {
-            Log.d(TAG, "onOptionsItemSelected: Add vacation selected");
+            AppLog.d(TAG, "onOptionsItemSelected: Add vacation selected");
             VacationDialogFragment addVacationDialog = new VacationDialogFragment();
             addVacationDialog.show(getSupportFragmentManager().beginTransaction(), "NewVacationDialog");
             addVacationDialog.setVacationAddedListener(vacation -> {
-                Log.d(TAG, "onOptionsItemSelected: Vacation added, saving to repository");
+                AppLog.d(TAG, "onOptionsItemSelected: Vacation added, saving to repository");
                 VacationPlannerRepository.getInstance(this).addVacation(vacation, success -> {
                     if (success > 0) {
-                        Log.d(TAG, "onOptionsItemSelected: Vacation saved successfully");
-                        runOnUiThread(() -> {
-                            vacationList.add(vacation);
-                            adapter.setVacations(new ArrayList<>(vacationList));
-                            runOnUiThread(() -> Toast.makeText(this, VACATION_ADDED, Toast.LENGTH_SHORT).show());
-                        });
+                        AppLog.d(TAG, "onOptionsItemSelected: Vacation saved successfully");
+                        runOnUiThread(Tracing.traced("VacationActivity.vacationAdded", () -> Toast.makeText(this, VACATION_ADDED, Toast.LENGTH_SHORT).show()));
                     } else {
-                        Log.e(TAG, "onOptionsItemSelected: Failed to save vacation");
-                        runOnUiThread(() -> Toast.makeText(this, INVALID_VACATION_ADDED, Toast.LENGTH_SHORT).show());
+                        AppLog.e(TAG, "onOptionsItemSelected: Failed to save vacation");
+                        runOnUiThread(Tracing.traced("VacationActivity.vacationAdded", () -> Toast.makeText(this, INVALID_VACATION_ADDED, Toast.LENGTH_SHORT).show()));
                     }
                 });
             });
             return true;
 
         } else if (item.getItemId() == R.id.action_edit_vacation) {
-            Log.d(TAG, "onOptionsItemSelected: Edit vacation selected");
+            AppLog.d(TAG, "onOptionsItemSelected: Edit vacation selected");
             Toast.makeText(this, SELECT_VACATION_EDIT, Toast.LENGTH_SHORT).show();
             toggleEditMode(true);
             adapter.setEditMode(true);
             return true;
 
         } else if (item.getItemId() == R.id.action_delete_vacation) {
-            Log.d(TAG, "onOptionsItemSelected: Delete vacation selected");
+            AppLog.d(TAG, "onOptionsItemSelected: Delete vacation selected");
             if (!vacationList.isEmpty()) {
                 if (!isDeleting) {
-                    Log.d(TAG, "onOptionsItemSelected: Entering delete mode");
+                    AppLog.d(TAG, "onOptionsItemSelected: Entering delete mode");
                     Toast.makeText(this, SELECT_VACATION_DELETE, Toast.LENGTH_SHORT).show();
                     isDeleting = true;
                     adapter.setOnItemClickListener(this::showDeleteConfirmationDialog);
                 } else {
-                    Log.d(TAG, "onOptionsItemSelected: Exiting delete mode");
+                    AppLog.d(TAG, "onOptionsItemSelected: Exiting delete mode");
                     isDeleting = false;
                     adapter.setOnItemClickListener(null);
                 }
             } else {
-                Log.w(TAG, "onOptionsItemSelected: No vacations to delete");
+                AppLog.w(TAG, "onOptionsItemSelected: No vacations to delete");
                 Toast.makeText(this, INVALID_NO_VACATIONS, Toast.LENGTH_SHORT).show();
             }
             return true;
+        } else if (item.getItemId() == R.id.action_export_calendar) {
+            AppLog.d(TAG, "onOptionsItemSelected: Export calendar selected");
+            exportCalendarLauncher.launch("vacation-planner.ics");
+            return true;
+        } else if (item.getItemId() == R.id.action_export_backup) {
+            AppLog.d(TAG, "onOptionsItemSelected: Export backup selected");
+            exportBackupLauncher.launch("vacation-planner-" + LocalDate.now() + ".ndjson");
+            return true;
+        } else if (item.getItemId() == R.id.action_import_backup) {
+            AppLog.d(TAG, "onOptionsItemSelected: Import backup selected");
+            new AlertDialog.Builder(this)
+                    .setMessage(BACKUP_IMPORT_CONFIRMATION)
+                    .setPositiveButton("Yes", (dialog, which) -> importBackupLauncher.launch(new String[]{BACKUP_MIME_TYPE, "application/json", "text/plain", "application/octet-stream"}))
+                    .setNegativeButton("No", (dialog, which) -> dialog.dismiss())
+                    .show();
+            return true;
         } else if (item.getItemId() == R.id.action_preferences) {
-            Log.d(TAG, "onOptionsItemSelected: Preferences selected");
+            AppLog.d(TAG, "onOptionsItemSelected: Preferences selected");
             startActivity(new Intent(this, SettingsActivity.class));
             return true;
         } else if (item.getItemId() == android.R.id.home) {
-            Log.d(TAG, "onOptionsItemSelected: Home button clicked");
+            AppLog.d(TAG, "onOptionsItemSelected: Home button clicked");
             getOnBackPressedDispatcher().onBackPressed();
             return true;
         }
@@ -157,18 +209,44 @@ public class VacationActivity extends AppCompatActivity {
 
     // custom methods
     private void setUpRecyclerView() {
-        Log.d(TAG, "setUpRecyclerView: Setting up RecyclerView");
+        AppLog.d(TAG, "setUpRecyclerView: Setting up RecyclerView");
         RecyclerView recyclerView = findViewById(R.id.vacation_recycler_view);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new VacationAdapter(this);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
+        adapter = new VacationAdapter();
         recyclerView.setAdapter(adapter);
 
+        pagingSource = new VacationPagingSource(VacationPlannerRepository.getInstance(this));
+        pagingSource.setOnPageLoadedListener(vacations -> {
+            vacationList = vacations;
+            if (searchQuery.isEmpty()) {
+                adapter.setVacations(new ArrayList<>(vacationList));
+            } else {
+                // the table changed under an active search, so its results may be stale too
+                searchVacations(searchQuery);
+            }
+        });
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            // also called with dx and dy of 0 when a layout changes the visible range, so a short first page pages on
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                // search results come back in one query, only the full list pages
+                if (!searchQuery.isEmpty()) {
+                    return;
+                }
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible != RecyclerView.NO_POSITION && lastVisible >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    pagingSource.loadNextPage();
+                }
+            }
+        });
+
         adapter.setOnItemClickListener(vacation -> {
             if (isDeleting) {
-                Log.d(TAG, "setUpRecyclerView: Vacation clicked for deletion: " + vacation.getTitle());
+                AppLog.d(TAG, "setUpRecyclerView: Vacation clicked for deletion: {}", vacation.getTitle());
                 showDeleteConfirmationDialog(vacation);
             } else {
-                Log.d(TAG, "setUpRecyclerView: Vacation clicked, opening details");
+                AppLog.d(TAG, "setUpRecyclerView: Vacation clicked, opening details");
                 Intent intent = new Intent(this, VacationDetailActivity.class);
                 intent.putExtra("vacationId", vacation.getId());
                 startActivity(intent);
@@ -178,7 +256,7 @@ public class VacationActivity extends AppCompatActivity {
         adapter.setOnVacationEditListener(this::showEditVacationDialog);
 
         adapter.setOnExcursionListener(vacation -> {
-            Log.d(TAG, "setUpRecyclerView: Excursions selected, vacation ID: " + vacation.getId());
+            AppLog.d(TAG, "setUpRecyclerView: Excursions selected, vacation ID: {}", vacation.getId());
             Intent intent = new Intent(this, ExcursionActivity.class);
             intent.putExtra("vacationId", vacation.getId());
             startActivity(intent);
@@ -187,38 +265,81 @@ public class VacationActivity extends AppCompatActivity {
         adapter.setOnShareClickListener(this::shareVacationDetails);
     }
 
+    private void setUpSearch(MenuItem searchItem) {
+        AppLog.d(TAG, "setUpSearch: Setting up search");
+        SearchView searchView = (SearchView) searchItem.getActionView();
+        searchView.setQueryHint(getString(R.string.search_vacation));
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                searchVacations(query);
+                searchView.clearFocus();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                searchVacations(newText);
+                return true;
+            }
+        });
+    }
+
+    private void searchVacations(String query) {
+        searchQuery = query.trim();
+        if (searchQuery.isEmpty()) {
+            AppLog.d(TAG, "searchVacations: Search cleared, showing all vacations");
+            adapter.setVacations(new ArrayList<>(vacationList));
+            return;
+        }
+
+        String requestedQuery = searchQuery;
+        VacationPlannerRepository.getInstance(this)
+                .searchAsync(requestedQuery)
+                .thenAcceptAsync(results -> {
+                    // a newer keystroke has already replaced this query
+                    if (!requestedQuery.equals(searchQuery)) {
+                        return;
+                    }
+                    AppLog.d(TAG, "searchVacations: Showing {} results for {}", results.size(), requestedQuery);
+                    adapter.setVacations(results);
+                }, Tracing.traced("VacationActivity.showSearchResults", ContextCompat.getMainExecutor(this)))
+                .exceptionally(e -> {
+                    AppLog.e(TAG, "searchVacations: Search failed", e);
+                    return null;
+                });
+    }
+
     private void setUpToolbar() {
-        Log.d(TAG, "setUpRecyclerView: Setting up toolbar");
+        AppLog.d(TAG, "setUpRecyclerView: Setting up toolbar");
         Toolbar toolbar = findViewById(R.id.vacation_toolbar);
         setSupportActionBar(toolbar);
     }
 
     private void toggleEditMode(boolean isEditing) {
-        Log.d(TAG, "Function…: Toggling edit mode: " + isEditing);
+        AppLog.d(TAG, "Function…: Toggling edit mode: {}", isEditing);
         this.isEditing = isEditing;
         adapter.setEditMode(isEditing);
     }
 
     private void showDeleteConfirmationDialog(Vacation vacation) {
-        Log.d(TAG, "showDeleteConfirmationDialog: Setting up delete dialog");
+        AppLog.d(TAG, "showDeleteConfirmationDialog: Setting up delete dialog");
         new AlertDialog.Builder(this)
                 .setMessage(VACATION_DELETE_CONFIRMATION)
                 .setPositiveButton("Yes", (dialog, which) ->
                         VacationPlannerRepository.getInstance(this).deleteVacation(vacation, success ->
-                                runOnUiThread(() -> {
+                                runOnUiThread(Tracing.traced("VacationActivity.vacationDeleted", () -> {
                                     if (success) {
-                                        Log.d(TAG, "showDeleteConfirmationDialog: Vacation deleted, vacation ID: " + vacation.getId());
-                                        vacationList.remove(vacation);
-                                        adapter.setVacations(new ArrayList<>(vacationList));
+                                        AppLog.d(TAG, "showDeleteConfirmationDialog: Vacation deleted, vacation ID: {}", vacation.getId());
                                         Toast.makeText(this, VACATION_DELETED, Toast.LENGTH_SHORT).show();
                                         isDeleting = false;
                                         adapter.setOnItemClickListener(null);
                                     } else {
-                                        Log.w(TAG, "showDeleteConfirmationDialog: Vacation has excursions, cannot delete");
+                                        AppLog.w(TAG, "showDeleteConfirmationDialog: Vacation has excursions, cannot delete");
                                         Toast.makeText(this, INVALID_DELETE_EXCURSIONS_EXIST, Toast.LENGTH_SHORT).show();
                                         isDeleting = false;
                                     }
-                                })))
+                                }))))
                 .setNegativeButton("No", (dialog, which) -> {
                     dialog.dismiss();
                     isDeleting = false;
@@ -227,7 +348,7 @@ public class VacationActivity extends AppCompatActivity {
     }
 
     private void showEditVacationDialog(Vacation vacation) {
-        Log.d(TAG, "showEditVacationDialog: Editing vacation, vacation ID: " + vacation.getId());
+        AppLog.d(TAG, "showEditVacationDialog: Editing vacation, vacation ID: {}", vacation.getId());
         VacationDialogFragment dialog = new VacationDialogFragment();
 
         Bundle args = new Bundle();
@@ -238,9 +359,8 @@ public class VacationActivity extends AppCompatActivity {
         dialog.setArguments(args);
 
         dialog.setVacationAddedListener(updatedVacation -> {
-            Log.d(TAG, "showEditVacationDialog: Vacation edited");
-            vacationList.set(vacationList.indexOf(vacation), updatedVacation);
-            adapter.setVacations(new ArrayList<>(vacationList));
+            AppLog.d(TAG, "showEditVacationDialog: Vacation edited");
+            updatedVacation.setId(vacation.getId());
             VacationPlannerRepository.getInstance(this).editVacation(updatedVacation);
             Toast.makeText(this, VACATION_UPDATED, Toast.LENGTH_SHORT).show();
             toggleEditMode(false);
@@ -249,93 +369,135 @@ public class VacationActivity extends AppCompatActivity {
         dialog.show(getSupportFragmentManager(), "EditVacationDialog");
     }
 
-    private void scheduleVacationCheck() {
-        Log.d(TAG, "scheduleVacationCheck: Scheduling vacation check");
-
-        WorkRequest vacationCheckRequest = new OneTimeWorkRequest.Builder(VacationNotificationWorker.class)
-                .setInitialDelay(1, TimeUnit.MILLISECONDS)
-                .addTag("vacation_check")
-                .build();
+    private void scheduleReminders() {
+        // reminders follow every write; only the first launch after an install or upgrade schedules them all
+        AppLog.d(TAG, "scheduleReminders: Checking reminder schedule");
+        ReminderScheduler.scheduleAllOnce(getApplicationContext());
+    }
 
-        WorkManager.getInstance(this).enqueue(vacationCheckRequest);
+    public void shareVacationDetails(Vacation vacation) {
+        AppLog.d(TAG, "shareVacationDetails: Share vacation selected");
+        VacationPlannerRepository.getInstance(getApplicationContext())
+                .getSharePayloadAsync(vacation.getId())
+                .thenAcceptAsync(payload -> {
+                    if (payload == null) {
+                        AppLog.w(TAG, "shareVacationDetails: Vacation no longer exists, vacation ID: {}", vacation.getId());
+                        return;
+                    }
+                    showShareDialog(payload);
+                }, Tracing.traced("VacationActivity.showShareDialog", ContextCompat.getMainExecutor(this)))
+                .exceptionally(e -> {
+                    AppLog.e(TAG, "shareVacationDetails: Failed to load vacation details", e);
+                    return null;
+                });
     }
 
-    private void scheduleExcursionCheck() {
-        Log.d(TAG, "scheduleExcursionCheck: Scheduling excursion check");
-        WorkRequest excursionCheckRequest = new OneTimeWorkRequest.Builder(ExcursionNotificationWorker.class)
-                .setInitialDelay(1, TimeUnit.MILLISECONDS)
-                .addTag("excursion_check")
-                .build();
+    private void showShareDialog(SharePayloadGenerator.SharePayload payload) {
+        String shareContent = payload.getText();
+        AlertDialog.Builder builder = new AlertDialog.Builder(VacationActivity.this);
+        builder.setTitle("Share via:")
+                .setItems(new CharSequence[]{"E-mail", "Clipboard", "SMS", "Calendar"}, (dialog, which) -> {
+                    switch (which) {
+                        case 0: // email
+                            AppLog.d(TAG, "shareVacationDetails: Share via email selected");
+                            Intent emailIntent = new Intent(Intent.ACTION_SEND);
+                            emailIntent.setType("text/plain");
+                            emailIntent.putExtra(Intent.EXTRA_SUBJECT, VACATION_DETAILS);
+                            emailIntent.putExtra(Intent.EXTRA_TEXT, shareContent);
+                            emailIntent.putExtra(Intent.EXTRA_HTML_TEXT, payload.getHtml());
+                            startActivity(Intent.createChooser(emailIntent, EMAIL_SEND));
+                            break;
+                        case 1: // clipboard
+                            AppLog.d(TAG, "shareVacationDetails: Share via clipboard selected");
+                            android.content.ClipboardManager clipboard = (android.content.ClipboardManager) getSystemService(CLIPBOARD_SERVICE);
+                            android.content.ClipData clip = android.content.ClipData.newPlainText(VACATION_DETAILS, shareContent);
+                            clipboard.setPrimaryClip(clip);
+                            Toast.makeText(VacationActivity.this, CLIPBOARD_COPY, Toast.LENGTH_SHORT).show();
+                            break;
+                        case 2: // sms
+                            AppLog.d(TAG, "shareVacationDetails: Share via SMS selected");
+                            Uri uri = Uri.parse("smsto:1234567890");
+                            Intent smsIntent = new Intent(Intent.ACTION_SENDTO, uri);
+                            smsIntent.putExtra("sms_body", shareContent);
+                            startActivity(smsIntent);
+                            break;
+                        case 3: // calendar
+                            AppLog.d(TAG, "shareVacationDetails: Share via calendar selected");
+                            Intent calendarIntent = new Intent(Intent.ACTION_SEND);
+                            calendarIntent.setType(CALENDAR_MIME_TYPE);
+                            calendarIntent.putExtra(Intent.EXTRA_SUBJECT, VACATION_DETAILS);
+                            calendarIntent.putExtra(Intent.EXTRA_TEXT, payload.getICalendar());
+                            startActivity(Intent.createChooser(calendarIntent, CALENDAR_SEND));
+                            break;
+                    }
+                })
+                .show();
+    }
 
-        WorkManager.getInstance(this).enqueue(excursionCheckRequest);
+    private void exportCalendar(Uri uri) {
+        if (uri == null) {
+            AppLog.d(TAG, "exportCalendar: No file chosen");
+            return;
+        }
+        OutputStream output;
+        try {
+            output = getContentResolver().openOutputStream(uri, "wt");
+        } catch (IOException e) {
+            AppLog.e(TAG, "exportCalendar: Cannot open {}", uri, e);
+            output = null;
+        }
+        if (output == null) {
+            Toast.makeText(this, INVALID_CALENDAR_EXPORT, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        VacationPlannerRepository.getInstance(this).exportCalendar(output, events ->
+                runOnUiThread(Tracing.traced("VacationActivity.calendarExported", () -> Toast.makeText(this, events >= 0 ? CALENDAR_EXPORTED : INVALID_CALENDAR_EXPORT, Toast.LENGTH_SHORT).show())));
     }
 
-    public void shareVacationDetails(Vacation vacation) {
-        Log.d(TAG, "shareVacationDetails: Share vacation selected");
-        final List<Excursion> excursions = new ArrayList<>();
-
-        final StringBuilder shareContentBuilder = new StringBuilder();
-        shareContentBuilder.append("Vacation Details:\n")
-                .append("Title: ").append(vacation.getTitle()).append("\n")
-                .append("Lodging: ").append(vacation.getLodging()).append("\n")
-                .append("Start Date: ").append(vacation.getStartDate()).append("\n")
-                .append("End Date: ").append(vacation.getEndDate());
-
-        VacationPlannerRepository.getInstance(getApplicationContext()).getExcursionsForVacation(vacation.getId(), e -> {
-            if (e != null) {
-                excursions.addAll(e);
-            }
-            if (!excursions.isEmpty()) {
-                shareContentBuilder.append("\nExcursions:\n");
-                for (Excursion excursion : excursions) {
-                    shareContentBuilder.append("- ").append(excursion.getTitle()).append(": ").append(excursion.getDate()).append("\n");
-                }
-            } else {
-                shareContentBuilder.append("\nNo excursions scheduled for this vacation.\n");
-            }
+    private void exportBackup(Uri uri) {
+        if (uri == null) {
+            AppLog.d(TAG, "exportBackup: No file chosen");
+            return;
+        }
+        OutputStream output;
+        try {
+            output = getContentResolver().openOutputStream(uri, "wt");
+        } catch (IOException e) {
+            AppLog.e(TAG, "exportBackup: Cannot open {}", uri, e);
+            output = null;
+        }
+        if (output == null) {
+            Toast.makeText(this, INVALID_BACKUP_EXPORT, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        VacationPlannerRepository.getInstance(this).exportBackup(output, rows ->
+                runOnUiThread(Tracing.traced("VacationActivity.backupExported", () -> Toast.makeText(this, rows >= 0 ? BACKUP_EXPORTED : INVALID_BACKUP_EXPORT, Toast.LENGTH_SHORT).show())));
+    }
 
-            final String shareContent = shareContentBuilder.toString();
-
-            runOnUiThread(() -> {
-                AlertDialog.Builder builder = new AlertDialog.Builder(VacationActivity.this);
-                builder.setTitle("Share via:")
-                        .setItems(new CharSequence[]{"E-mail", "Clipboard", "SMS"}, (dialog, which) -> {
-                            switch (which) {
-                                case 0: // email
-                                    Log.d(TAG, "shareVacationDetails: Share via email selected");
-                                    Intent emailIntent = new Intent(Intent.ACTION_SEND);
-                                    emailIntent.setType("text/plain");
-                                    emailIntent.putExtra(Intent.EXTRA_SUBJECT, VACATION_DETAILS);
-                                    emailIntent.putExtra(Intent.EXTRA_TEXT, shareContent);
-                                    startActivity(Intent.createChooser(emailIntent, EMAIL_SEND));
-                                    break;
-                                case 1: // clipboard
-                                    Log.d(TAG, "shareVacationDetails: Share via clipboard selected");
-                                    android.content.ClipboardManager clipboard = (android.content.ClipboardManager) getSystemService(CLIPBOARD_SERVICE);
-                                    android.content.ClipData clip = android.content.ClipData.newPlainText(VACATION_DETAILS, shareContent);
-                                    clipboard.setPrimaryClip(clip);
-                                    Toast.makeText(VacationActivity.this, CLIPBOARD_COPY, Toast.LENGTH_SHORT).show();
-                                    break;
-                                case 2: // sms
-                                    Log.d(TAG, "shareVacationDetails: Share via SMS selected");
-                                    Uri uri = Uri.parse("smsto:1234567890");
-                                    Intent smsIntent = new Intent(Intent.ACTION_SENDTO, uri);
-                                    smsIntent.putExtra("sms_body", shareContent);
-                                    startActivity(smsIntent);
-                                    break;
-                            }
-                        })
-                        .show();
-            });
-        });
+    private void importBackup(Uri uri) {
+        if (uri == null) {
+            AppLog.d(TAG, "importBackup: No file chosen");
+            return;
+        }
+        InputStream input;
+        try {
+            input = getContentResolver().openInputStream(uri);
+        } catch (IOException e) {
+            AppLog.e(TAG, "importBackup: Cannot open {}", uri, e);
+            input = null;
+        }
+        if (input == null) {
+            Toast.makeText(this, INVALID_BACKUP_IMPORT, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        // the invalidation refreshes the list, and the page listener re-runs any active search
+        VacationPlannerRepository.getInstance(this).importBackup(input, rows ->
+                runOnUiThread(Tracing.traced("VacationActivity.backupImported", () -> Toast.makeText(this, rows >= 0 ? BACKUP_IMPORTED : INVALID_BACKUP_IMPORT, Toast.LENGTH_SHORT).show())));
     }
 
-    private void reloadVacations() {
-        Log.d(TAG, "reloadVacations: Reloading vacations");
-        VacationPlannerRepository.getInstance(this).getAllVacations(vacations -> {
-            vacationList.clear();
-            vacationList.addAll(vacations);
-            adapter.setVacations(new ArrayList<>(vacationList));
-        });
+    private void loadVacations() {
+        AppLog.d(TAG, "loadVacations: Loading vacations and observing changes");
+        pagingSource.startObserving();
+        pagingSource.refresh();
     }
 }
\ No newline at end of file
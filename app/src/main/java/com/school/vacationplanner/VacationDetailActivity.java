@@ -2,7 +2,6 @@ package com.school.vacationplanner;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.util.Log;
 import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
@@ -14,6 +13,8 @@ import com.school.vacationplanner.adapters.ExcursionAdapter;
 import com.school.vacationplanner.fragments.ExcursionDialogFragment;
 import com.school.vacationplanner.models.Vacation;
 import com.school.vacationplanner.repo.VacationPlannerRepository;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.Tracing;
 
 import java.util.Objects;
 
@@ -38,7 +39,7 @@ public class VacationDetailActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_vacation_detail);
 
-        Log.d(TAG, "onCreate: VacationDetailActivity started");
+        AppLog.d(TAG, "onCreate: VacationDetailActivity started");
 
         setUpToolbar();
 
@@ -54,32 +55,28 @@ public class VacationDetailActivity extends AppCompatActivity {
 
         long vacationId = getIntent().getLongExtra("vacationId", -1);
         if (vacationId == -1) {
-            Log.e(TAG, "onCreate: Invalid vacation ID");
+            AppLog.e(TAG, "onCreate: Invalid vacation ID");
             finish();
             return;
         }
 
-        VacationPlannerRepository.getInstance(this).getVacationById(vacationId, vacation -> {
-            if (vacation != null) {
-                runOnUiThread(() -> displayVacationDetails(vacation));
-            } else {
-                Log.e(TAG, "onCreate: Vacation not found");
-                finish();
-            }
-        });
-
-        VacationPlannerRepository.getInstance(this).getExcursionsForVacation(vacationId, excursions -> {
-            if (excursions != null) {
-                runOnUiThread(() -> excursionAdapter.setExcursions(excursions));
-            }
-        });
+        VacationPlannerRepository.getInstance(this).getVacationWithExcursions(vacationId, details ->
+                runOnUiThread(Tracing.traced("VacationDetailActivity.showDetails", () -> {
+                    if (details != null) {
+                        displayVacationDetails(details.getVacation());
+                        excursionAdapter.setExcursions(details.getExcursions());
+                    } else {
+                        AppLog.e(TAG, "onCreate: Vacation not found");
+                        finish();
+                    }
+                })));
     }
 
     @Override
     public boolean onOptionsItemSelected(android.view.MenuItem item) {
-        Log.d(TAG, "onOptionsItemSelected: Selected item ID = " + item.getItemId());
+        AppLog.d(TAG, "onOptionsItemSelected: Selected item ID = {}", item.getItemId());
         if (item.getItemId() == android.R.id.home) {
-            Log.d(TAG, "onOptionsItemSelected: Home button selected, finishing activity");
+            AppLog.d(TAG, "onOptionsItemSelected: Home button selected, finishing activity");
             finish();
             return true;
         }
@@ -96,7 +93,7 @@ public class VacationDetailActivity extends AppCompatActivity {
     }
 
     private void setUpToolbar() {
-        Log.d(TAG, "setUpToolbar: Setting up toolbar");
+        AppLog.d(TAG, "setUpToolbar: Setting up toolbar");
         Toolbar toolbar = findViewById(R.id.details_toolbar);
         toolbar.setTitle(DETAILS_TITLE_BAR);
         setSupportActionBar(toolbar);
@@ -3,7 +3,6 @@ package com.school.vacationplanner.adapters;
 import android.content.Context;
 import android.os.Handler;
 import android.os.Looper;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,22 +11,40 @@ import android.widget.PopupMenu;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.school.vacationplanner.R;
 import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.Tracing;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class ExcursionAdapter extends RecyclerView.Adapter<ExcursionAdapter.ExcursionViewHolder> {
 
     // constants
     private static final String TAG = "ExcursionAdapter";
+    private static final String TRACE_BIND = "ExcursionAdapter.onBindViewHolder";
+    private static final DiffUtil.ItemCallback<Excursion> DIFF_CALLBACK = new DiffUtil.ItemCallback<Excursion>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Excursion oldItem, @NonNull Excursion newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Excursion oldItem, @NonNull Excursion newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getDate(), newItem.getDate())
+                    && oldItem.getVacationId() == newItem.getVacationId();
+        }
+    };
 
 
     // variables
-    private List<Excursion> excursionList = new ArrayList<>();
+    private final AsyncListDiffer<Excursion> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private final Context context;
     private OnExcursionClickListener excursionListener;
 
@@ -60,7 +77,8 @@ public class ExcursionAdapter extends RecyclerView.Adapter<ExcursionAdapter.Excu
     // constructor
     public ExcursionAdapter(Context context) {
         this.context = context;
-        Log.d(TAG, "ExcursionAdapter initialized");
+        setHasStableIds(true);
+        AppLog.d(TAG, "ExcursionAdapter initialized");
     }
 
 
@@ -68,7 +86,7 @@ public class ExcursionAdapter extends RecyclerView.Adapter<ExcursionAdapter.Excu
     @NonNull
     @Override
     public ExcursionViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        Log.d(TAG, "onCreateViewHolder: Creating new ViewHolder");
+        AppLog.d(TAG, "onCreateViewHolder: Creating new ViewHolder");
         View itemView = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_excursion, parent, false);
         return new ExcursionViewHolder(itemView);
@@ -76,23 +94,32 @@ public class ExcursionAdapter extends RecyclerView.Adapter<ExcursionAdapter.Excu
 
     @Override
     public void onBindViewHolder(@NonNull ExcursionViewHolder holder, int position) {
-        Excursion excursion = excursionList.get(position);
-        Log.d(TAG, "onBindViewHolder: Binding excursion at position " + position + ", excursion ID:" + excursion.getId());
+        Tracing.begin(TRACE_BIND);
+        try {
+            bind(holder, position);
+        } finally {
+            Tracing.end();
+        }
+    }
+
+    private void bind(ExcursionViewHolder holder, int position) {
+        Excursion excursion = differ.getCurrentList().get(position);
+        AppLog.d(TAG, "onBindViewHolder: Binding excursion at position {}, excursion ID:{}", position, excursion.getId());
         holder.excursionTitle.setText(excursion.getTitle());
         holder.excursionDate.setText(excursion.getDateFormatted());
 
         holder.optionsButton.setOnClickListener(v -> {
-            Log.d(TAG, "onBindViewHolder: Options button clicked for excursion ID: " + excursion.getId());
+            AppLog.d(TAG, "onBindViewHolder: Options button clicked for excursion ID: {}", excursion.getId());
             PopupMenu menu = new PopupMenu(v.getContext(), holder.optionsButton);
             menu.inflate(R.menu.excursion_context_menu);
             menu.setOnMenuItemClickListener(item -> {
                 if (excursionListener != null) {
                     if (item.getItemId() == R.id.excursion_edit) {
-                        Log.d(TAG, "onBindViewHolder: Edit option selected for excursion ID: " + excursion.getId());
+                        AppLog.d(TAG, "onBindViewHolder: Edit option selected for excursion ID: {}", excursion.getId());
                         excursionListener.onExcursionEdit(excursion);
                         return true;
                     } else if (item.getItemId() == R.id.excursion_delete) {
-                        Log.d(TAG, "onBindViewHolder: Delete option selected for excursion ID: " + excursion.getId());
+                        AppLog.d(TAG, "onBindViewHolder: Delete option selected for excursion ID: {}", excursion.getId());
                         excursionListener.onExcursionDelete(excursion);
                         return true;
                     }
@@ -105,25 +132,25 @@ public class ExcursionAdapter extends RecyclerView.Adapter<ExcursionAdapter.Excu
 
     @Override
     public int getItemCount() {
-        Log.d(TAG, "getItemCount: Item count: " + excursionList.size());
-        return excursionList.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
 
     // listener setters
     public void setOnExcursionClickListener(OnExcursionClickListener listener) {
         this.excursionListener = listener;
-        Log.d(TAG, "OnExcursionClickListener set");
+        AppLog.d(TAG, "OnExcursionClickListener set");
     }
 
 
     // custom methods
     public void setExcursions(List<Excursion> excursions) {
-        Log.d(TAG, "setExcursions: Setting excursions: " + excursions.size() + " items");
-        new Handler(Looper.getMainLooper()).post(() -> {
-            excursionList.clear();
-            excursionList.addAll(excursions);
-            notifyDataSetChanged();
-        });
+        AppLog.d(TAG, "setExcursions: Setting excursions: {} items", excursions.size());
+        new Handler(Looper.getMainLooper()).post(() -> differ.submitList(excursions));
     }
 }
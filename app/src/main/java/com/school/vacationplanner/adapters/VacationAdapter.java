@@ -1,9 +1,5 @@
 package com.school.vacationplanner.adapters;
 
-import android.content.Context;
-import android.os.Handler;
-import android.os.Looper;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,24 +8,41 @@ import android.widget.ImageButton;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.school.vacationplanner.R;
 import com.school.vacationplanner.models.Vacation;
-import com.school.vacationplanner.repo.VacationPlannerRepository;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.Tracing;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class VacationAdapter extends RecyclerView.Adapter<VacationAdapter.VacationViewHolder> {
 
     // constants
     private static final String TAG = "VacationAdapter";
+    private static final String TRACE_BIND = "VacationAdapter.onBindViewHolder";
+    private static final DiffUtil.ItemCallback<Vacation> DIFF_CALLBACK = new DiffUtil.ItemCallback<Vacation>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Vacation oldItem, @NonNull Vacation newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Vacation oldItem, @NonNull Vacation newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getLodging(), newItem.getLodging())
+                    && Objects.equals(oldItem.getStartDate(), newItem.getStartDate())
+                    && Objects.equals(oldItem.getEndDate(), newItem.getEndDate());
+        }
+    };
 
 
     // variables
-    private List<Vacation> vacationList = new ArrayList<>();
-    private final Context context;
+    private final AsyncListDiffer<Vacation> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private OnItemClickListener itemListener;
     private OnVacationEditListener editListener;
     private OnShareClickListener shareListener;
@@ -77,9 +90,9 @@ public class VacationAdapter extends RecyclerView.Adapter<VacationAdapter.Vacati
 
 
     // constructor
-    public VacationAdapter(Context context) {
-        Log.d(TAG, "VacationAdapter initialized");
-        this.context = context;
+    public VacationAdapter() {
+        AppLog.d(TAG, "VacationAdapter initialized");
+        setHasStableIds(true);
     }
 
 
@@ -87,7 +100,7 @@ public class VacationAdapter extends RecyclerView.Adapter<VacationAdapter.Vacati
     @NonNull
     @Override
     public VacationViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        Log.d(TAG, "onCreateViewHolder: Creating new ViewHolder");
+        AppLog.d(TAG, "onCreateViewHolder: Creating new ViewHolder");
         View itemView = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_vacation, parent, false);
         return new VacationViewHolder(itemView);
@@ -95,29 +108,38 @@ public class VacationAdapter extends RecyclerView.Adapter<VacationAdapter.Vacati
 
     @Override
     public void onBindViewHolder(@NonNull VacationViewHolder holder, int position) {
-        Vacation vacation = vacationList.get(position);
-        Log.d(TAG, "onBindViewHolder: Binding vacation at position " + position + ", vacation ID:" + vacation.getId());
+        Tracing.begin(TRACE_BIND);
+        try {
+            bind(holder, position);
+        } finally {
+            Tracing.end();
+        }
+    }
+
+    private void bind(VacationViewHolder holder, int position) {
+        Vacation vacation = differ.getCurrentList().get(position);
+        AppLog.d(TAG, "onBindViewHolder: Binding vacation at position {}, vacation ID:{}", position, vacation.getId());
         holder.vacationTitle.setText(vacation.getTitle());
         holder.vacationLodging.setText(vacation.getLodging());
         holder.vacationStartDate.setText(vacation.getStartDateFormatted());
         holder.vacationEndDate.setText(vacation.getEndDateFormatted());
 
         holder.shareButton.setOnClickListener(v -> {
-            Log.d(TAG, "onBindViewHolder: Share button clicked for vacation ID: " + vacation.getTitle());
+            AppLog.d(TAG, "onBindViewHolder: Share button clicked for vacation ID: {}", vacation.getTitle());
             if (shareListener != null) {
                 shareListener.onShareClick(vacation);
             }
         });
 
         holder.excursionsButton.setOnClickListener(v -> {
-            Log.d(TAG, "onBindViewHolder: Excursion button clicked for vacation ID: " + vacation.getTitle());
+            AppLog.d(TAG, "onBindViewHolder: Excursion button clicked for vacation ID: {}", vacation.getTitle());
             if (excursionListener != null) {
                 excursionListener.onExcursionClick(vacation);
             }
         });
 
         holder.itemView.setOnClickListener(v -> {
-            Log.d(TAG, "onBindViewHolder: Item clicked in edit mode for vacation ID: " + vacation.getTitle());
+            AppLog.d(TAG, "onBindViewHolder: Item clicked in edit mode for vacation ID: {}", vacation.getTitle());
             if (editMode && editListener != null) {
                 editListener.onVacationEdit(vacation);
             } else if (itemListener != null) {
@@ -128,49 +150,47 @@ public class VacationAdapter extends RecyclerView.Adapter<VacationAdapter.Vacati
 
     @Override
     public int getItemCount() {
-        Log.d(TAG, "getItemCount: Item count: " + vacationList.size());
-        return vacationList.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
 
     // listener setters
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.itemListener = listener;
-        Log.d(TAG, "OnItemClickListener set");
+        AppLog.d(TAG, "OnItemClickListener set");
     }
 
     public void setOnVacationEditListener(OnVacationEditListener listener) {
         this.editListener = listener;
-        Log.d(TAG, "OnVacationEditListener set");
+        AppLog.d(TAG, "OnVacationEditListener set");
     }
 
     public void setOnShareClickListener(OnShareClickListener listener) {
         this.shareListener = listener;
-        Log.d(TAG, "OnShareClickListener set");
+        AppLog.d(TAG, "OnShareClickListener set");
     }
 
     public void setOnExcursionListener(OnExcursionClickListener listener) {
         this.excursionListener = listener;
-        Log.d(TAG, "OnExcursionClickListener set");
+        AppLog.d(TAG, "OnExcursionClickListener set");
     }
 
 
     // methods
+    // renders only the list it is given; must be called on the main thread
     public void setVacations(List<Vacation> vacations) {
-        Log.d(TAG, "setVacations: Setting vacations: " + vacations.size() + " items");
-        VacationPlannerRepository.getInstance(context).getAllVacations(v -> {
-            new Handler(Looper.getMainLooper()).post(() -> {
-                vacationList.clear();
-                vacationList = vacations;
-                notifyDataSetChanged();
-                Log.d(TAG, "setVacations: Vacations updated and adapter notified");
-            });
-        });
+        AppLog.d(TAG, "setVacations: Setting vacations: {} items", vacations.size());
+        differ.submitList(vacations);
     }
 
     public void setEditMode(boolean editMode) {
-        Log.d(TAG, "setEditMode: Setting edit mode to: " + editMode);
+        AppLog.d(TAG, "setEditMode: Setting edit mode to: {}", editMode);
+        // click handlers read editMode when tapped, so no rows need rebinding
         this.editMode = editMode;
-        notifyDataSetChanged();
     }
 }
\ No newline at end of file
@@ -4,7 +4,6 @@ import android.app.AlertDialog;
 import android.app.Dialog;
 import android.os.Bundle;
 import android.text.TextUtils;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.widget.Button;
@@ -13,16 +12,20 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.DialogFragment;
 
 import com.school.vacationplanner.R;
 import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
 import com.school.vacationplanner.repo.VacationPlannerRepository;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.Tracing;
+import com.school.vacationplanner.util.DateValidator;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
 
 public class ExcursionDialogFragment extends DialogFragment {
 
@@ -33,6 +36,7 @@ public class ExcursionDialogFragment extends DialogFragment {
     private static final String INVALID_VACATION_NOT_FOUND = "Vacation not found";
     private static final String INVALID_DATE_OUTSIDE_VACATION = "Excursion date must be within vacation dates";
     private static final String INVALID_DATE_WARNING = "Invalid date format";
+    private static final long LOOKUP_TIMEOUT_SECONDS = 5;
 
 
     // variables
@@ -50,7 +54,7 @@ public class ExcursionDialogFragment extends DialogFragment {
     // constructor
     public ExcursionDialogFragment(long vacationId) {
         this.vacationId = vacationId;
-        Log.d(TAG, "ExcursionDialogFragment: Initialized with vacationId: " + vacationId);
+        AppLog.d(TAG, "ExcursionDialogFragment: Initialized with vacationId: {}", vacationId);
     }
 
 
@@ -58,7 +62,7 @@ public class ExcursionDialogFragment extends DialogFragment {
     // listeners
     public void setExcursionAddedListener(ExcursionAddedListener listener) {
         this.listener = listener;
-        Log.d(TAG, "ExcursionAddedListener set");
+        AppLog.d(TAG, "ExcursionAddedListener set");
     }
 
 
@@ -66,7 +70,7 @@ public class ExcursionDialogFragment extends DialogFragment {
     @NonNull
     @Override
     public Dialog onCreateDialog(@Nullable Bundle savedInstanceState) {
-        Log.d(TAG, "onCreateDialog: Dialog created");
+        AppLog.d(TAG, "onCreateDialog: Dialog created");
         LayoutInflater inflater = requireActivity().getLayoutInflater();
         View view = inflater.inflate(R.layout.fragment_new_excursion_dialog, null);
 
@@ -79,25 +83,25 @@ public class ExcursionDialogFragment extends DialogFragment {
             excursionId = getArguments().getLong("excursionId", -1);
             titleAddText.setText(title);
             dateAddText.setText(date);
-            Log.d(TAG, "onCreateDialog: Received arguments: " + title + ", " + date);
+            AppLog.d(TAG, "onCreateDialog: Received arguments: {}, {}", title, date);
         }
 
         Button saveButton = view.findViewById(R.id.excursion_save_button);
         Button cancelButton = view.findViewById(R.id.excursion_cancel_button);
 
         saveButton.setOnClickListener(v -> {
-            Log.d(TAG, "onCreateDialog: Save button clicked");
+            AppLog.d(TAG, "onCreateDialog: Save button clicked");
             String title = titleAddText.getText().toString().trim();
             String date = dateAddText.getText().toString().trim();
 
             if (TextUtils.isEmpty(title) || TextUtils.isEmpty(date)) {
-                Log.w(TAG, "onCreateDialog: Validation failed: field is empty");
+                AppLog.w(TAG, "onCreateDialog: Validation failed: field is empty");
                 Toast.makeText(getContext(), INVALID_MISSING_DATA, Toast.LENGTH_SHORT).show();
                 return;
             }
 
             if (!isValidDateFormat(date)) {
-                Log.w(TAG, "onCreateDialog: Validation failed - invalid date format");
+                AppLog.w(TAG, "onCreateDialog: Validation failed - invalid date format");
                 Toast.makeText(getContext(), INVALID_DATE_FORMAT_WARNING, Toast.LENGTH_SHORT)
                         .show();
                 return;
@@ -107,7 +111,7 @@ public class ExcursionDialogFragment extends DialogFragment {
         });
 
         cancelButton.setOnClickListener(v -> {
-            Log.d(TAG, "onCreateDialog: Cancel button clicked");
+            AppLog.d(TAG, "onCreateDialog: Cancel button clicked");
             dismiss();
         });
 
@@ -119,18 +123,15 @@ public class ExcursionDialogFragment extends DialogFragment {
 
     // custom methods
     private boolean isValidDateFormat(String date) {
-        Log.d(TAG, "isValidDateFormat: Checking format for date: " + date);
-        String regex = "^\\d{4}-\\d{2}-\\d{2}$";
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(date);
-        boolean isValid = matcher.matches();
-        Log.d(TAG, "isValidDateFormat: Date is valid: " + isValid);
+        AppLog.d(TAG, "isValidDateFormat: Checking format for date: {}", date);
+        boolean isValid = DateValidator.isValidDateFormat(date);
+        AppLog.d(TAG, "isValidDateFormat: Date is valid: {}", isValid);
         return isValid;
     }
 
     private void validateAndSave(String title, String date) {
         if (!isValidDateFormat(date)) {
-            Log.w(TAG, "onCreateDialog: Validation failed - invalid date format");
+            AppLog.w(TAG, "onCreateDialog: Validation failed - invalid date format");
             getActivity().runOnUiThread(() ->
                     Toast.makeText(getContext(), INVALID_DATE_FORMAT_WARNING, Toast.LENGTH_SHORT).show()
             );
@@ -138,48 +139,57 @@ public class ExcursionDialogFragment extends DialogFragment {
         }
 
         // Get vacation details
-        VacationPlannerRepository.getInstance(requireContext()).getVacationById(vacationId, vacation -> {
-            if (vacation == null) {
-                Log.w(TAG, "onCreateDialog: Vacation not found for ID " + vacationId);
-                getActivity().runOnUiThread(() ->
-                        Toast.makeText(getContext(), INVALID_VACATION_NOT_FOUND, Toast.LENGTH_SHORT).show()
-                );
+        VacationPlannerRepository.getInstance(requireContext())
+                .getVacationByIdAsync(vacationId)
+                .orTimeout(LOOKUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenCompleteAsync((vacation, error) -> {
+                    if (!isAdded()) {
+                        AppLog.d(TAG, "validateAndSave: Dialog no longer attached, ignoring result");
+                        return;
+                    }
+                    if (error != null) {
+                        AppLog.e(TAG, "validateAndSave: Failed to load vacation {}", vacationId, error);
+                        Toast.makeText(getContext(), INVALID_VACATION_NOT_FOUND, Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+                    if (vacation == null) {
+                        AppLog.w(TAG, "onCreateDialog: Vacation not found for ID {}", vacationId);
+                        Toast.makeText(getContext(), INVALID_VACATION_NOT_FOUND, Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+                    saveIfWithinVacation(vacation, title, date);
+                }, Tracing.traced("ExcursionDialogFragment.saveIfWithinVacation", ContextCompat.getMainExecutor(requireContext())));
+    }
+
+    private void saveIfWithinVacation(Vacation vacation, String title, String date) {
+        try {
+            LocalDate dateLocal = LocalDate.parse(date);
+            LocalDate startDate = vacation.getStartDate();
+            LocalDate endDate = vacation.getEndDate();
+
+            // Validate the excursion date
+            if (!DateValidator.isWithin(dateLocal, startDate, endDate)) {
+                AppLog.w(TAG, "onCreateDialog: Date is out of vacation bounds");
+                Toast.makeText(getContext(), INVALID_DATE_OUTSIDE_VACATION, Toast.LENGTH_SHORT).show();
                 return;
             }
 
-            try {
-                LocalDate dateLocal = LocalDate.parse(date);
-                LocalDate startDate = vacation.getStartDate();
-                LocalDate endDate = vacation.getEndDate();
-
-                // Validate the excursion date
-                if (dateLocal.isBefore(startDate) || dateLocal.isAfter(endDate)) {
-                    Log.w(TAG, "onCreateDialog: Date is out of vacation bounds");
-                    getActivity().runOnUiThread(() ->
-                            Toast.makeText(getContext(), INVALID_DATE_OUTSIDE_VACATION, Toast.LENGTH_SHORT).show()
-                    );
-                    return;
-                }
-
-                // Create the new Excursion
-                Excursion excursion = new Excursion(title, vacationId, dateLocal);
-                if (excursionId != -1) {
-                    excursion.setId(excursionId);
-                }
-                Log.d(TAG, "onCreateDialog: Creating new Excursion: " + excursion.getId());
-
-                // Notify listener and dismiss only if everything is successful
-                if (listener != null) {
-                    Log.d(TAG, "onCreateDialog: Notifying listener about new excursion");
-                    listener.onExcursionAdded(excursion);
-                }
-                dismiss();
-            } catch (DateTimeParseException e) {
-                Log.e(TAG, "Date parsing error: " + e.getMessage());
-                getActivity().runOnUiThread(() ->
-                        Toast.makeText(getContext(), INVALID_DATE_FORMAT_WARNING, Toast.LENGTH_SHORT).show()
-                );
+            // Create the new Excursion
+            Excursion excursion = new Excursion(title, vacationId, dateLocal);
+            if (excursionId != -1) {
+                excursion.setId(excursionId);
             }
-        });
+            AppLog.d(TAG, "onCreateDialog: Creating new Excursion: {}", excursion.getId());
+
+            // Notify listener and dismiss only if everything is successful
+            if (listener != null) {
+                AppLog.d(TAG, "onCreateDialog: Notifying listener about new excursion");
+                listener.onExcursionAdded(excursion);
+            }
+            dismiss();
+        } catch (DateTimeParseException e) {
+            AppLog.e(TAG, "Date parsing error: {}", e.getMessage());
+            Toast.makeText(getContext(), INVALID_DATE_FORMAT_WARNING, Toast.LENGTH_SHORT).show();
+        }
     }
 }
@@ -4,7 +4,6 @@ import android.app.AlertDialog;
 import android.app.Dialog;
 import android.os.Bundle;
 import android.text.TextUtils;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.widget.Button;
@@ -17,11 +16,11 @@ import androidx.fragment.app.DialogFragment;
 
 import com.school.vacationplanner.R;
 import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.DateValidator;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class VacationDialogFragment extends DialogFragment {
 
@@ -47,7 +46,7 @@ public class VacationDialogFragment extends DialogFragment {
     // listeners
     public void setVacationAddedListener(OnVacationAddedListener listener) {
         this.listener = listener;
-        Log.d(TAG, "setVacationAddedListener: Listener set");
+        AppLog.d(TAG, "setVacationAddedListener: Listener set");
     }
 
 
@@ -55,7 +54,7 @@ public class VacationDialogFragment extends DialogFragment {
     @NonNull
     @Override
     public Dialog onCreateDialog(@Nullable Bundle savedInstanceState) {
-        Log.d(TAG, "onCreateDialog: Dialog creation started");
+        AppLog.d(TAG, "onCreateDialog: Dialog creation started");
         LayoutInflater inflater = requireActivity().getLayoutInflater();
         View view = inflater.inflate(R.layout.fragment_new_vacation_dialog, null);
 
@@ -65,7 +64,7 @@ public class VacationDialogFragment extends DialogFragment {
         EditText endDateEditText = view.findViewById(R.id.edit_vacation_end_date);
 
         if (getArguments() != null) {
-            Log.d(TAG, "onCreateDialog: Populating fields from arguments");
+            AppLog.d(TAG, "onCreateDialog: Populating fields from arguments");
             titleEditText.setText(getArguments().getString("title"));
             lodgingEditText.setText(getArguments().getString("lodging"));
             startDateEditText.setText(getArguments().getString("startDate"));
@@ -76,20 +75,20 @@ public class VacationDialogFragment extends DialogFragment {
         Button cancelButton = view.findViewById(R.id.vacation_cancel_button);
 
         saveButton.setOnClickListener(v -> {
-            Log.d(TAG, "onCreateDialog: Save button clicked");
+            AppLog.d(TAG, "onCreateDialog: Save button clicked");
             String title = titleEditText.getText().toString().trim();
             String lodging = lodgingEditText.getText().toString().trim();
             String startDate = startDateEditText.getText().toString().trim();
             String endDate = endDateEditText.getText().toString().trim();
 
             if (TextUtils.isEmpty(title) || TextUtils.isEmpty(lodging) || TextUtils.isEmpty(startDate) || TextUtils.isEmpty(endDate)) {
-                Log.w(TAG, "onCreateDialog: Validation failed - missing fields");
+                AppLog.w(TAG, "onCreateDialog: Validation failed - missing fields");
                 Toast.makeText(getContext(), INVALID_MISSING_DATA, Toast.LENGTH_SHORT).show();
                 return;
             }
 
             if (!isValidDateFormat(startDate) || !isValidDateFormat(endDate)) {
-                Log.w(TAG, "onCreateDialog: Validation failed - invalid date format");
+                AppLog.w(TAG, "onCreateDialog: Validation failed - invalid date format");
                 Toast.makeText(getContext(), INVALID_DATE_FORMAT_WARNING, Toast.LENGTH_SHORT)
                         .show();
             }
@@ -98,11 +97,11 @@ public class VacationDialogFragment extends DialogFragment {
         });
 
         cancelButton.setOnClickListener(v -> {
-            Log.d(TAG, "onCreateDialog: Cancel button clicked");
+            AppLog.d(TAG, "onCreateDialog: Cancel button clicked");
             dismiss();
         });
 
-        Log.d(TAG, "onCreateDialog: Dialog created successfully");
+        AppLog.d(TAG, "onCreateDialog: Dialog created successfully");
         return new AlertDialog.Builder(requireContext())
                 .setView(view)
                 .create();
@@ -111,19 +110,16 @@ public class VacationDialogFragment extends DialogFragment {
 
     // custom methods
     private boolean isValidDateFormat(String date) {
-        Log.d(TAG, "isValidDateFormat: Checking format for date: " + date);
-        String regex = "^\\d{4}-\\d{2}-\\d{2}$";
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(date);
-        boolean isValid = matcher.matches();
-        Log.d(TAG, "isValidDateFormat: Date is valid: " + isValid);
+        AppLog.d(TAG, "isValidDateFormat: Checking format for date: {}", date);
+        boolean isValid = DateValidator.isValidDateFormat(date);
+        AppLog.d(TAG, "isValidDateFormat: Date is valid: {}", isValid);
         return isValid;
     }
 
     private void validateAndSave(String title, String lodging, String startDate, String endDate) {
 
         if (!isValidDateFormat(startDate) || !isValidDateFormat(endDate)) {
-            Log.w(TAG, "onCreateDialog: Validation failed - invalid date format");
+            AppLog.w(TAG, "onCreateDialog: Validation failed - invalid date format");
             Toast.makeText(getContext(), INVALID_DATE_FORMAT_WARNING, Toast.LENGTH_SHORT)
                     .show();
             return;
@@ -133,22 +129,22 @@ public class VacationDialogFragment extends DialogFragment {
             LocalDate startDateLocal = LocalDate.parse(startDate);
             LocalDate endDateLocal = LocalDate.parse(endDate);
 
-            if (startDateLocal.isAfter(endDateLocal)) {
-                Log.w(TAG, "onCreateDialog: Validation failed - end date before start date");
+            if (!DateValidator.isOrdered(startDateLocal, endDateLocal)) {
+                AppLog.w(TAG, "onCreateDialog: Validation failed - end date before start date");
                 Toast.makeText(getContext(), INVALID_DATE_ORDER_WARNING, Toast.LENGTH_SHORT).show();
                 return;
             }
 
             Vacation vacation = new Vacation(title, lodging, startDateLocal, endDateLocal);
-            Log.d(TAG, "onCreateDialog: New vacation created: " + vacation);
+            AppLog.d(TAG, "onCreateDialog: New vacation created: {}", vacation);
             if (listener != null) {
-                Log.d(TAG, "onCreateDialog: Notifying listener of new vacation");
+                AppLog.d(TAG, "onCreateDialog: Notifying listener of new vacation");
                 listener.onVacationAdded(vacation);
             }
             dismiss();
 
         } catch (DateTimeParseException e) {
-            Log.e(TAG, "Date parsing error: " + e.getMessage());
+            AppLog.e(TAG, "Date parsing error: {}", e.getMessage());
             Toast.makeText(getContext(), INVALID_DATE_FORMAT_WARNING, Toast.LENGTH_SHORT).show();
         }
     }
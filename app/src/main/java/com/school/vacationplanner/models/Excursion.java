@@ -13,13 +13,12 @@ import com.school.vacationplanner.repo.Converters;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
-@Entity(foreignKeys = @ForeignKey(entity = Vacation.class, parentColumns = "id", childColumns = "vacation_id", onDelete = ForeignKey.RESTRICT), indices = {@Index("vacation_id")})
+@Entity(foreignKeys = @ForeignKey(entity = Vacation.class, parentColumns = "id", childColumns = "vacation_id", onDelete = ForeignKey.RESTRICT), indices = {@Index("vacation_id"), @Index("date")})
 @TypeConverters(Converters.class)
 public class Excursion {
 
     // constants
-    @Ignore
-    private final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
 
     // variables
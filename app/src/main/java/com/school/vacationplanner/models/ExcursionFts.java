@@ -0,0 +1,38 @@
+package com.school.vacationplanner.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.PrimaryKey;
+
+// full-text index over Excursion titles; rowid matches Excursion.id
+@Fts4(contentEntity = Excursion.class)
+@Entity(tableName = "ExcursionFts")
+public class ExcursionFts {
+
+    // variables
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private long rowId;
+
+    @ColumnInfo(name = "title")
+    private String title;
+
+
+    // getters and setters
+    public long getRowId() {
+        return rowId;
+    }
+
+    public void setRowId(long rowId) {
+        this.rowId = rowId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
@@ -3,6 +3,7 @@ package com.school.vacationplanner.models;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 
@@ -11,13 +12,12 @@ import com.school.vacationplanner.repo.Converters;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
-@Entity
+@Entity(indices = {@Index("start_date"), @Index("end_date")})
 @TypeConverters(Converters.class)
 public class Vacation {
 
     // constants
-    @Ignore
-    private final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
 
     // variables
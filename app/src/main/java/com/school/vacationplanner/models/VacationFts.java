@@ -0,0 +1,49 @@
+package com.school.vacationplanner.models;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.PrimaryKey;
+
+// full-text index over Vacation; Room keeps it in sync with triggers, rowid matches Vacation.id
+@Fts4(contentEntity = Vacation.class)
+@Entity(tableName = "VacationFts")
+public class VacationFts {
+
+    // variables
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private long rowId;
+
+    @ColumnInfo(name = "title")
+    private String title;
+
+    @ColumnInfo(name = "lodging")
+    private String lodging;
+
+
+    // getters and setters
+    public long getRowId() {
+        return rowId;
+    }
+
+    public void setRowId(long rowId) {
+        this.rowId = rowId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getLodging() {
+        return lodging;
+    }
+
+    public void setLodging(String lodging) {
+        this.lodging = lodging;
+    }
+}
@@ -0,0 +1,39 @@
+package com.school.vacationplanner.models;
+
+import androidx.room.Embedded;
+import androidx.room.Relation;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class VacationWithExcursions {
+
+    // variables
+    @Embedded
+    private Vacation vacation;
+
+    @Relation(parentColumn = "id", entityColumn = "vacation_id")
+    private List<Excursion> excursions;
+
+
+    // getters and setters
+    public Vacation getVacation() {
+        return vacation;
+    }
+
+    public void setVacation(Vacation vacation) {
+        this.vacation = vacation;
+    }
+
+    public List<Excursion> getExcursions() {
+        return excursions;
+    }
+
+    // Room does not order relation rows; keep the id order the excursion list has always shown
+    public void setExcursions(List<Excursion> excursions) {
+        if (excursions != null) {
+            excursions.sort(Comparator.comparingLong(Excursion::getId));
+        }
+        this.excursions = excursions;
+    }
+}
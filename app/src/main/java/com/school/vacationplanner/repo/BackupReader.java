@@ -0,0 +1,103 @@
+package com.school.vacationplanner.repo;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+
+// reads a backup written by BackupWriter, handing each row to the sink as soon as its line is parsed
+// nothing is collected here; the sink decides how many rows to hold before writing them out
+public final class BackupReader {
+
+    // inner classes
+    public interface Sink {
+        void onVacation(Vacation vacation) throws IOException;
+        void onExcursion(Excursion excursion) throws IOException;
+    }
+
+
+    // constructor
+    private BackupReader() {
+    }
+
+
+    // methods
+    public static void read(Reader in, Sink sink) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        reader.setStrictness(Strictness.LENIENT);
+
+        readHeader(reader);
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case BackupWriter.FIELD_VACATION:
+                        sink.onVacation(readVacation(reader));
+                        break;
+                    case BackupWriter.FIELD_EXCURSION:
+                        sink.onExcursion(ExcursionJsonCodec.readExcursion(reader));
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        }
+    }
+
+    private static void readHeader(JsonReader reader) throws IOException {
+        int version = -1;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(BackupWriter.FIELD_VERSION)) {
+                version = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (version < 1 || version > BackupWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported backup version " + version);
+        }
+    }
+
+    private static Vacation readVacation(JsonReader reader) throws IOException {
+        Vacation vacation = new Vacation();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case BackupWriter.FIELD_ID:
+                    vacation.setId(reader.nextLong());
+                    break;
+                case BackupWriter.FIELD_TITLE:
+                    vacation.setTitle(reader.nextString());
+                    break;
+                case BackupWriter.FIELD_LODGING:
+                    vacation.setLodging(reader.nextString());
+                    break;
+                case BackupWriter.FIELD_START_DATE:
+                    vacation.setStartDate(LocalDate.parse(reader.nextString()));
+                    break;
+                case BackupWriter.FIELD_END_DATE:
+                    vacation.setEndDate(LocalDate.parse(reader.nextString()));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return vacation;
+    }
+}
@@ -0,0 +1,86 @@
+package com.school.vacationplanner.repo;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+// NDJSON backup, one small object per line so any number of rows streams through constant memory
+// the version line comes first, then {"vacation":{...}} lines, then {"excursion":{...}} lines, so excursions follow their vacations
+public class BackupWriter implements Closeable {
+
+    // constants
+    static final int FORMAT_VERSION = 1;
+    static final String FIELD_VERSION = "version";
+    static final String FIELD_VACATION = "vacation";
+    static final String FIELD_EXCURSION = "excursion";
+    static final String FIELD_ID = "id";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_LODGING = "lodging";
+    static final String FIELD_START_DATE = "startDate";
+    static final String FIELD_END_DATE = "endDate";
+
+
+    // variables
+    private final Writer out;
+    private final JsonWriter writer;
+    private int vacationCount;
+    private int excursionCount;
+
+
+    // constructor
+    public BackupWriter(Writer out) throws IOException {
+        this.out = out;
+        writer = new JsonWriter(out);
+        // lenient output allows one top-level value per line
+        writer.setStrictness(Strictness.LENIENT);
+
+        writer.beginObject();
+        writer.name(FIELD_VERSION).value(FORMAT_VERSION);
+        writer.endObject();
+        out.write('\n');
+    }
+
+
+    // methods
+    public void writeVacation(Vacation vacation) throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_VACATION);
+        writer.beginObject();
+        writer.name(FIELD_ID).value(vacation.getId());
+        writer.name(FIELD_TITLE).value(vacation.getTitle());
+        writer.name(FIELD_LODGING).value(vacation.getLodging());
+        writer.name(FIELD_START_DATE).value(vacation.getStartDate() != null ? vacation.getStartDate().toString() : null);
+        writer.name(FIELD_END_DATE).value(vacation.getEndDate() != null ? vacation.getEndDate().toString() : null);
+        writer.endObject();
+        writer.endObject();
+        out.write('\n');
+        vacationCount++;
+    }
+
+    public void writeExcursion(Excursion excursion) throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_EXCURSION);
+        ExcursionJsonCodec.writeExcursion(writer, excursion);
+        writer.endObject();
+        out.write('\n');
+        excursionCount++;
+    }
+
+    public int getVacationCount() {
+        return vacationCount;
+    }
+
+    public int getExcursionCount() {
+        return excursionCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -2,30 +2,27 @@ package com.school.vacationplanner.repo;
 
 import androidx.room.TypeConverter;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonParseException;
 import com.school.vacationplanner.models.Excursion;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 public class Converters {
 
-    // constants
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-
     // converters
+    // dates are stored as epoch days so rows hydrate without parsing and range filters compare integers
     @TypeConverter
-    public static LocalDate fromString(String value) {
-        return value == null ? null : LocalDate.parse(value, DATE_FORMAT);
+    public static LocalDate fromEpochDay(Long value) {
+        return value == null ? null : LocalDate.ofEpochDay(value);
     }
 
     @TypeConverter
-    public static String fromLocalDate(LocalDate date) {
-        return date == null ? null : date.format(DATE_FORMAT);
+    public static Long toEpochDay(LocalDate date) {
+        return date == null ? null : date.toEpochDay();
     }
 
     @TypeConverter
@@ -34,8 +31,25 @@ public class Converters {
             return null;
         }
 
-        Gson gson = new Gson();
-        Type listType = new TypeToken<List<Excursion>>(){}.getType();
-        return gson.fromJson(excursionsJson, listType);
+        try {
+            return ExcursionJsonCodec.readList(new StringReader(excursionsJson));
+        } catch (IOException | RuntimeException e) {
+            throw new JsonParseException("Malformed excursions JSON", e);
+        }
+    }
+
+    // deliberately not a @TypeConverter, so Room never binds excursion lists as a column
+    public static String fromExcursionsList(List<Excursion> excursions) {
+        if (excursions == null) {
+            return null;
+        }
+
+        StringWriter out = new StringWriter();
+        try {
+            ExcursionJsonCodec.writeList(out, excursions);
+        } catch (IOException e) {
+            throw new JsonParseException("Could not write excursions JSON", e);
+        }
+        return out.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,289 @@
+package com.school.vacationplanner.repo;
+
+
+import androidx.annotation.NonNull;
+
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.Tracing;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// runs repository work on two lanes: a single writer thread, so writes never queue on SQLite's write lock,
+// and a small reader pool that serves user-facing reads before background scans.
+// at most MAX_PENDING_BACKGROUND_READS background reads sit in the pool; the rest wait here without blocking the caller
+public class DatabaseScheduler {
+
+    // constants
+    private static final String TAG = "DatabaseScheduler";
+    private static final int READER_THREADS = 3;
+    private static final int MAX_PENDING_BACKGROUND_READS = 32;
+    // queue wait of the task running on this thread, until RepositoryMetrics takes it; -1 once taken
+    private static final ThreadLocal<long[]> queueWaitNanos = ThreadLocal.withInitial(() -> new long[]{-1});
+
+
+    // variables
+    private final Executor writer;
+    private final Executor readers;
+    private final Semaphore backgroundReadPermits = new Semaphore(MAX_PENDING_BACKGROUND_READS);
+    // background reads over the limit, handed to the pool as permits come back
+    private final Queue<ScheduledTask> deferredBackgroundReads = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LaneStats writeStats = new LaneStats();
+    private final LaneStats readStats = new LaneStats();
+
+
+    // inner classes
+    public enum Priority {
+        USER,
+        BACKGROUND
+    }
+
+    public static class LaneMetrics {
+        private final int queueDepth;
+        private final int maxQueueDepth;
+        private final long completedTasks;
+        private final long averageWaitMicros;
+        private final long maxWaitMicros;
+
+        LaneMetrics(int queueDepth, int maxQueueDepth, long completedTasks, long totalWaitNanos, long maxWaitNanos) {
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.completedTasks = completedTasks;
+            this.averageWaitMicros = completedTasks == 0 ? 0 : totalWaitNanos / completedTasks / 1_000;
+            this.maxWaitMicros = maxWaitNanos / 1_000;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        public long getCompletedTasks() {
+            return completedTasks;
+        }
+
+        public long getAverageWaitMicros() {
+            return averageWaitMicros;
+        }
+
+        public long getMaxWaitMicros() {
+            return maxWaitMicros;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "depth=" + queueDepth + " maxDepth=" + maxQueueDepth + " completed=" + completedTasks
+                    + " avgWait=" + averageWaitMicros + "us maxWait=" + maxWaitMicros + "us";
+        }
+    }
+
+    private static class LaneStats {
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+        private final AtomicLong completedTasks = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        void onQueued(int depth) {
+            maxQueueDepth.accumulateAndGet(depth, Math::max);
+        }
+
+        void onStarted(long waitNanos) {
+            completedTasks.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        LaneMetrics snapshot(int queueDepth) {
+            return new LaneMetrics(queueDepth, maxQueueDepth.get(), completedTasks.get(), totalWaitNanos.get(), maxWaitNanos.get());
+        }
+    }
+
+    private final class ScheduledTask implements Runnable, Comparable<ScheduledTask> {
+        private final String name;
+        private final Runnable task;
+        private final Priority priority;
+        private final LaneStats stats;
+        private final long order = sequence.getAndIncrement();
+        private final long enqueuedAt = System.nanoTime();
+        // async slice from submission until the task, and any callback it delivers inline, has finished
+        private final int traceCookie;
+
+        ScheduledTask(String name, Runnable task, Priority priority, LaneStats stats) {
+            this.name = name;
+            this.task = task;
+            this.priority = priority;
+            this.stats = stats;
+            traceCookie = Tracing.beginAsync(name);
+        }
+
+        @Override
+        public void run() {
+            long waitNanos = System.nanoTime() - enqueuedAt;
+            stats.onStarted(waitNanos);
+            long[] wait = queueWaitNanos.get();
+            wait[0] = waitNanos;
+            Tracing.begin(name);
+            try {
+                task.run();
+            } finally {
+                Tracing.end();
+                Tracing.endAsync(name, traceCookie);
+                wait[0] = -1;
+                if (priority == Priority.BACKGROUND) {
+                    releaseBackgroundPermit();
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            // user work first, then submission order
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+
+
+    // constructors
+    public DatabaseScheduler() {
+        this(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), namedThreads("db-writer")),
+                newReaderPool());
+    }
+
+    DatabaseScheduler(Executor writer, Executor readers) {
+        this.writer = writer;
+        this.readers = readers;
+    }
+
+    // visible for tests: every task runs on the calling thread, so results arrive before the call returns
+    static DatabaseScheduler inline() {
+        return new DatabaseScheduler(Runnable::run, Runnable::run);
+    }
+
+
+    // methods
+    // name labels the task's trace sections and should be a constant, such as "Repo.addVacation"
+    public void write(String name, Runnable task) {
+        writer.execute(new ScheduledTask(name, task, Priority.USER, writeStats));
+        writeStats.onQueued(queueSize(writer));
+    }
+
+    public void read(String name, Runnable task) {
+        read(Priority.USER, name, task);
+    }
+
+    // never blocks: callers include worker startWork on the main thread
+    public void read(Priority priority, String name, Runnable task) {
+        ScheduledTask scheduled = new ScheduledTask(name, task, priority, readStats);
+        if (priority == Priority.BACKGROUND && !backgroundReadPermits.tryAcquire()) {
+            AppLog.d(TAG, "read: Deferring {}, background reads are at the limit", name);
+            deferredBackgroundReads.add(scheduled);
+            // a permit may have come back between tryAcquire and add
+            drainDeferredBackgroundReads();
+            return;
+        }
+        execute(scheduled);
+    }
+
+    public <T> CompletableFuture<T> submitWrite(String name, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        write(name, () -> complete(future, task));
+        return future;
+    }
+
+    public <T> CompletableFuture<T> submitRead(Priority priority, String name, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        read(priority, name, () -> complete(future, task));
+        return future;
+    }
+
+    public LaneMetrics getWriteMetrics() {
+        return writeStats.snapshot(queueSize(writer));
+    }
+
+    public LaneMetrics getReadMetrics() {
+        return readStats.snapshot(queueSize(readers));
+    }
+
+    // how long the current task waited in its lane, or -1 outside a task or once already taken
+    public static long takeQueueWaitNanos() {
+        long[] wait = queueWaitNanos.get();
+        long waitNanos = wait[0];
+        wait[0] = -1;
+        return waitNanos;
+    }
+
+    private void execute(ScheduledTask task) {
+        try {
+            readers.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (task.priority == Priority.BACKGROUND) {
+                backgroundReadPermits.release();
+            }
+            throw e;
+        }
+        readStats.onQueued(queueSize(readers));
+    }
+
+    private void releaseBackgroundPermit() {
+        backgroundReadPermits.release();
+        drainDeferredBackgroundReads();
+    }
+
+    private void drainDeferredBackgroundReads() {
+        while (!deferredBackgroundReads.isEmpty() && backgroundReadPermits.tryAcquire()) {
+            ScheduledTask next = deferredBackgroundReads.poll();
+            if (next == null) {
+                backgroundReadPermits.release();
+            } else {
+                execute(next);
+            }
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Callable<T> task) {
+        try {
+            future.complete(task.call());
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static int queueSize(Executor executor) {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : 0;
+    }
+
+    private static ThreadPoolExecutor newReaderPool() {
+        ThreadPoolExecutor readers = new ThreadPoolExecutor(READER_THREADS, READER_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), namedThreads("db-reader"));
+        // threads must exist up front, otherwise early tasks bypass the priority queue
+        readers.prestartAllCoreThreads();
+        return readers;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            AppLog.d(TAG, "namedThreads: Starting {}", thread.getName());
+            return thread;
+        };
+    }
+}
@@ -1,5 +1,8 @@
 package com.school.vacationplanner.repo;
 
+import android.database.Cursor;
+
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
@@ -9,6 +12,7 @@ import androidx.room.Update;
 
 import com.school.vacationplanner.models.Excursion;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Dao
@@ -18,14 +22,33 @@ public interface ExcursionDao {
     long addExcursion(Excursion excursion);
 
     @Update
-    void updateExcursion(Excursion excursion);
+    int updateExcursion(Excursion excursion);
 
     @Delete
-    void deleteExcursion(Excursion excursion);
+    int deleteExcursion(Excursion excursion);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    List<Long> addExcursions(List<Excursion> excursions);
 
     @Query("SELECT * FROM Excursion")
     List<Excursion> getAllExcursions();
 
+    @Query("SELECT * FROM Excursion ORDER BY id")
+    Cursor getExcursionsCursor();
+
+    @Query("DELETE FROM Excursion")
+    int deleteAllExcursions();
+
+    @Query("SELECT * FROM Excursion WHERE id = :excursionId")
+    Excursion getExcursionById(long excursionId);
+
+    // served by the date index
+    @Query("SELECT * FROM Excursion WHERE date = :date")
+    List<Excursion> getExcursionsOn(LocalDate date);
+
     @Query("SELECT * FROM Excursion WHERE vacation_id = :vacationId ORDER BY id")
     List<Excursion> getExcursionsForVacation(long vacationId);
+
+    @Query("SELECT * FROM Excursion WHERE vacation_id = :vacationId ORDER BY id")
+    LiveData<List<Excursion>> observeExcursionsForVacation(long vacationId);
 }
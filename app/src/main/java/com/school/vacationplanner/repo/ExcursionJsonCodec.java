@@ -0,0 +1,129 @@
+package com.school.vacationplanner.repo;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.school.vacationplanner.models.Excursion;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// reflection-free excursion JSON; still reads the {"year","month","day"} dates Gson used to write
+public final class ExcursionJsonCodec {
+
+    // constants
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_DATE = "date";
+    private static final String FIELD_VACATION_ID = "vacationId";
+
+
+    // constructor
+    private ExcursionJsonCodec() {
+    }
+
+
+    // reading
+    public static List<Excursion> readList(Reader in) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        List<Excursion> excursions = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            excursions.add(readExcursion(reader));
+        }
+        reader.endArray();
+        return excursions;
+    }
+
+    public static Excursion readExcursion(JsonReader reader) throws IOException {
+        Excursion excursion = new Excursion();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case FIELD_ID:
+                    excursion.setId(reader.nextLong());
+                    break;
+                case FIELD_TITLE:
+                    excursion.setTitle(reader.nextString());
+                    break;
+                case FIELD_DATE:
+                    excursion.setDate(readDate(reader));
+                    break;
+                case FIELD_VACATION_ID:
+                    excursion.setVacationId(reader.nextLong());
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return excursion;
+    }
+
+    private static LocalDate readDate(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return LocalDate.parse(reader.nextString());
+        }
+
+        int year = 0, month = 1, day = 1;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "year":
+                    year = reader.nextInt();
+                    break;
+                case "month":
+                    month = reader.nextInt();
+                    break;
+                case "day":
+                    day = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return LocalDate.of(year, month, day);
+    }
+
+
+    // writing
+    public static void writeList(Writer out, List<Excursion> excursions) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        if (excursions == null) {
+            writer.nullValue();
+        } else {
+            writer.beginArray();
+            for (Excursion excursion : excursions) {
+                writeExcursion(writer, excursion);
+            }
+            writer.endArray();
+        }
+        writer.flush();
+    }
+
+    public static void writeExcursion(JsonWriter writer, Excursion excursion) throws IOException {
+        writer.beginObject();
+        writer.name(FIELD_ID).value(excursion.getId());
+        writer.name(FIELD_TITLE).value(excursion.getTitle());
+        writer.name(FIELD_DATE).value(excursion.getDate() != null ? excursion.getDate().toString() : null);
+        writer.name(FIELD_VACATION_ID).value(excursion.getVacationId());
+        writer.endObject();
+    }
+}
@@ -0,0 +1,92 @@
+package com.school.vacationplanner.repo;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+public final class Migrations {
+
+    // constants
+    // julianday('1970-01-01'), used to turn yyyy-MM-dd text into epoch days inside SQLite
+    private static final String UNIX_EPOCH_JULIAN_DAY = "2440587.5";
+
+
+    // constructor
+    private Migrations() {
+    }
+
+
+    // migrations
+    // v4: dates move from yyyy-MM-dd TEXT to epoch-day INTEGER, with indexes on every date column
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `Vacation_new` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`title` TEXT, `lodging` TEXT, `start_date` INTEGER, `end_date` INTEGER)");
+            db.execSQL("INSERT INTO `Vacation_new` (`id`, `title`, `lodging`, `start_date`, `end_date`) "
+                    + "SELECT `id`, `title`, `lodging`, " + toEpochDay("start_date") + ", " + toEpochDay("end_date")
+                    + " FROM `Vacation`");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `Excursion_new` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`title` TEXT, `date` INTEGER, `vacation_id` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`vacation_id`) REFERENCES `Vacation`(`id`) ON UPDATE NO ACTION ON DELETE RESTRICT )");
+            db.execSQL("INSERT INTO `Excursion_new` (`id`, `title`, `date`, `vacation_id`) "
+                    + "SELECT `id`, `title`, " + toEpochDay("date") + ", `vacation_id` FROM `Excursion`");
+
+            db.execSQL("DROP TABLE `Excursion`");
+            db.execSQL("DROP TABLE `Vacation`");
+            db.execSQL("ALTER TABLE `Vacation_new` RENAME TO `Vacation`");
+            db.execSQL("ALTER TABLE `Excursion_new` RENAME TO `Excursion`");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_Vacation_start_date` ON `Vacation` (`start_date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_Vacation_end_date` ON `Vacation` (`end_date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_Excursion_vacation_id` ON `Excursion` (`vacation_id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_Excursion_date` ON `Excursion` (`date`)");
+        }
+    };
+
+
+    // v5: external-content FTS4 tables for search, kept in sync by Room's triggers and filled once with 'rebuild'
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            createFtsTable(db, "VacationFts", "Vacation", "title", "lodging");
+            createFtsTable(db, "ExcursionFts", "Excursion", "title");
+        }
+    };
+
+
+    // every migration, in version order; schemas older than v3 predate the first release and have no path
+    public static final Migration[] ALL = {MIGRATION_3_4, MIGRATION_4_5};
+    public static final int[] DESTRUCTIVE_FROM = {1, 2};
+
+
+    // helpers
+    private static String toEpochDay(String column) {
+        return "CAST(julianday(`" + column + "`) - " + UNIX_EPOCH_JULIAN_DAY + " AS INTEGER)";
+    }
+
+    // mirrors the DDL Room generates for an @Fts4(contentEntity = ...) entity, so schema validation passes
+    private static void createFtsTable(SupportSQLiteDatabase db, String ftsTable, String contentTable, String... columns) {
+        StringBuilder definitions = new StringBuilder();
+        StringBuilder names = new StringBuilder();
+        StringBuilder newValues = new StringBuilder();
+        for (String column : columns) {
+            definitions.append('`').append(column).append("` TEXT, ");
+            names.append(", `").append(column).append('`');
+            newValues.append(", NEW.`").append(column).append('`');
+        }
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `" + ftsTable + "` USING FTS4(" + definitions
+                + "content=`" + contentTable + "`)");
+
+        String triggerPrefix = "room_fts_content_sync_" + ftsTable + "_";
+        String deleteOld = " BEGIN DELETE FROM `" + ftsTable + "` WHERE `docid`=OLD.`rowid`; END";
+        String insertNew = " BEGIN INSERT INTO `" + ftsTable + "`(`docid`" + names + ") VALUES (NEW.`rowid`" + newValues + "); END";
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + triggerPrefix + "BEFORE_UPDATE BEFORE UPDATE ON `" + contentTable + "`" + deleteOld);
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + triggerPrefix + "BEFORE_DELETE BEFORE DELETE ON `" + contentTable + "`" + deleteOld);
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + triggerPrefix + "AFTER_UPDATE AFTER UPDATE ON `" + contentTable + "`" + insertNew);
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + triggerPrefix + "AFTER_INSERT AFTER INSERT ON `" + contentTable + "`" + insertNew);
+
+        db.execSQL("INSERT INTO `" + ftsTable + "`(`" + ftsTable + "`) VALUES('rebuild')");
+    }
+}
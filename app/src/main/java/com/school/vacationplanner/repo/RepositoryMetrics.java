@@ -0,0 +1,167 @@
+package com.school.vacationplanner.repo;
+
+import androidx.annotation.NonNull;
+
+import com.school.vacationplanner.util.Tracing;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// per-DAO-method counters, latency histograms and trace sections for every call the repository makes
+// the first call of a scheduler task also records that task's queue wait, so the wait is counted once per task
+public class RepositoryMetrics {
+
+    // inner classes
+    public interface DaoCall<T> {
+        T call();
+    }
+
+    public static class Operation {
+        private final String name;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram queueWait = new LatencyHistogram();
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public long getRows() {
+            return rows.get();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public LatencyHistogram getQueueWait() {
+            return queueWait;
+        }
+
+        void record(long latencyNanos, long rowCount, boolean failed) {
+            calls.incrementAndGet();
+            if (failed) {
+                errors.incrementAndGet();
+            }
+            rows.addAndGet(rowCount);
+            latency.record(latencyNanos);
+            long waitNanos = DatabaseScheduler.takeQueueWaitNanos();
+            if (waitNanos >= 0) {
+                queueWait.record(waitNanos);
+            }
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return name + ": calls=" + calls.get() + " errors=" + errors.get() + " rows=" + rows.get()
+                    + "\n  latency " + latency + "\n  queueWait " + queueWait;
+        }
+    }
+
+    public static class Timer {
+        private final Operation operation;
+        private final long startedAt = System.nanoTime();
+        private long rows;
+
+        Timer(Operation operation) {
+            this.operation = operation;
+            Tracing.begin(operation.getName());
+        }
+
+        public void addRow() {
+            rows++;
+        }
+
+        public void stop(boolean failed) {
+            Tracing.end();
+            operation.record(System.nanoTime() - startedAt, rows, failed);
+        }
+    }
+
+
+    // variables
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+
+    // methods
+    public <T> T time(String name, DaoCall<T> call) {
+        Operation operation = operation(name);
+        // the section covers the query and Room's row mapping, including the type converters
+        Tracing.begin(name);
+        long startedAt = System.nanoTime();
+        T result;
+        try {
+            result = call.call();
+        } catch (RuntimeException e) {
+            operation.record(System.nanoTime() - startedAt, 0, true);
+            throw e;
+        } finally {
+            Tracing.end();
+        }
+        operation.record(System.nanoTime() - startedAt, rowCount(result), false);
+        return result;
+    }
+
+    // for calls whose rows are consumed after the DAO returns, such as cursors
+    public Timer start(String name) {
+        return new Timer(operation(name));
+    }
+
+    public Operation get(String name) {
+        return operations.get(name);
+    }
+
+    public List<Operation> getOperations() {
+        List<Operation> snapshot = new ArrayList<>(operations.values());
+        snapshot.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return snapshot;
+    }
+
+    public void dump(String prefix, PrintWriter writer) {
+        for (Operation operation : getOperations()) {
+            writer.print(prefix);
+            writer.println(operation.toString().replace("\n", "\n" + prefix));
+        }
+    }
+
+
+    // helpers
+    private Operation operation(String name) {
+        Operation operation = operations.get(name);
+        return operation != null ? operation : operations.computeIfAbsent(name, Operation::new);
+    }
+
+    // lists count their elements, update and delete counts are taken as is, an id or entity is one row
+    private static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Integer) {
+            return (Integer) result;
+        } else if (result instanceof Long) {
+            return (Long) result >= 0 ? 1 : 0;
+        }
+        return 1;
+    }
+}
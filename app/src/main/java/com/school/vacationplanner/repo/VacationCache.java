@@ -0,0 +1,81 @@
+package com.school.vacationplanner.repo;
+
+import androidx.annotation.NonNull;
+import androidx.collection.LruCache;
+
+import com.school.vacationplanner.models.Vacation;
+
+// bounded LRU of vacations by id, kept coherent by the repository's writes; entities are copied in and out
+// a fill carries a stamp taken before the query, and a write in between discards it, so a slow read cannot restore a replaced row
+public class VacationCache {
+
+    // variables
+    private final LruCache<Long, Vacation> entries;
+    private long version;
+
+
+    // constructor
+    public VacationCache(int maxEntries) {
+        entries = new LruCache<>(maxEntries);
+    }
+
+
+    // methods
+    public Vacation get(long id) {
+        Vacation cached = entries.get(id);
+        return cached != null ? copy(cached) : null;
+    }
+
+    public synchronized long stamp() {
+        return version;
+    }
+
+    // called by readers with the stamp taken before they queried
+    public synchronized void fill(Vacation vacation, long stamp) {
+        if (vacation != null && stamp == version) {
+            entries.put(vacation.getId(), copy(vacation));
+        }
+    }
+
+    // called by writers once the row is committed
+    public synchronized void put(Vacation vacation) {
+        version++;
+        entries.put(vacation.getId(), copy(vacation));
+    }
+
+    public synchronized void remove(long id) {
+        version++;
+        entries.remove(id);
+    }
+
+    public synchronized void clear() {
+        version++;
+        entries.evictAll();
+    }
+
+    public int getHitCount() {
+        return entries.hitCount();
+    }
+
+    public int getMissCount() {
+        return entries.missCount();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "size=" + entries.size() + "/" + entries.maxSize() + " hits=" + entries.hitCount() + " misses=" + entries.missCount();
+    }
+
+
+    // helpers
+    private static Vacation copy(Vacation vacation) {
+        Vacation copy = new Vacation(vacation.getTitle(), vacation.getLodging(), vacation.getStartDate(), vacation.getEndDate());
+        copy.setId(vacation.getId());
+        return copy;
+    }
+}
@@ -1,14 +1,19 @@
 package com.school.vacationplanner.repo;
 
+import android.database.Cursor;
+
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.models.VacationWithExcursions;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Dao
@@ -18,14 +23,57 @@ public interface VacationDao {
     long addVacation(Vacation vacation);
 
     @Update
-    void updateVacation(Vacation vacation);
+    int updateVacation(Vacation vacation);
 
     @Delete
     void deleteVacation(Vacation vacation);
 
+    // one statement: vacations that still have excursions are left in place and 0 is returned
+    @Query("DELETE FROM Vacation WHERE id = :vacationId AND NOT EXISTS (SELECT 1 FROM Excursion WHERE vacation_id = :vacationId)")
+    int deleteVacationIfNoExcursions(long vacationId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    List<Long> addVacations(List<Vacation> vacations);
+
+    @Delete
+    int deleteVacations(List<Vacation> vacations);
+
     @Query("SELECT * FROM Vacation")
     List<Vacation> getAllVacations();
 
+    // backups walk the table row by row instead of hydrating every vacation at once
+    @Query("SELECT * FROM Vacation ORDER BY id")
+    Cursor getVacationsCursor();
+
+    @Query("DELETE FROM Vacation")
+    int deleteAllVacations();
+
     @Query("SELECT * FROM Vacation WHERE id = :vacationId")
     Vacation getVacationById(long vacationId);
+
+    // served by the start_date and end_date indexes
+    @Query("SELECT * FROM Vacation WHERE start_date = :date OR end_date = :date")
+    List<Vacation> getVacationsStartingOrEndingOn(LocalDate date);
+
+    @Transaction
+    @Query("SELECT * FROM Vacation WHERE id = :vacationId")
+    VacationWithExcursions getVacationWithExcursions(long vacationId);
+
+    // full-text search; :query is an FTS4 MATCH expression, see VacationPlannerRepository.toMatchQuery
+    @Query("SELECT * FROM Vacation WHERE id IN ("
+            + "SELECT rowid FROM VacationFts WHERE VacationFts MATCH :query "
+            + "UNION SELECT vacation_id FROM Excursion WHERE id IN (SELECT rowid FROM ExcursionFts WHERE ExcursionFts MATCH :query)"
+            + ") ORDER BY start_date, id LIMIT :limit")
+    List<Vacation> searchVacations(String query, int limit);
+
+    // keyset paging, ordered by (start_date, id) so pages stay stable while rows are added;
+    // SQLite sorts NULL first, so undated vacations lead the list and get their own "after" query
+    @Query("SELECT * FROM Vacation ORDER BY start_date, id LIMIT :limit")
+    List<Vacation> getFirstVacationsPage(int limit);
+
+    @Query("SELECT * FROM Vacation WHERE start_date > :afterStartDate OR (start_date = :afterStartDate AND id > :afterId) ORDER BY start_date, id LIMIT :limit")
+    List<Vacation> getVacationsPageAfter(LocalDate afterStartDate, long afterId, int limit);
+
+    @Query("SELECT * FROM Vacation WHERE (start_date IS NULL AND id > :afterId) OR start_date IS NOT NULL ORDER BY start_date, id LIMIT :limit")
+    List<Vacation> getVacationsPageAfterUndated(long afterId, int limit);
 }
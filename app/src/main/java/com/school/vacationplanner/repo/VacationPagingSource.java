@@ -0,0 +1,128 @@
+package com.school.vacationplanner.repo;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.Tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// keyset pages in (start_date, id) order; state is only touched on the main thread
+public class VacationPagingSource {
+
+    // constants
+    private static final String TAG = "VacationPagingSource";
+    public static final int DEFAULT_PAGE_SIZE = 30;
+
+
+    // variables
+    private final VacationPlannerRepository repository;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final int pageSize;
+    private final List<Vacation> loadedVacations = new ArrayList<>();
+    private OnPageLoadedListener listener;
+    private boolean loading = false;
+    private boolean endReached = false;
+    private int generation = 0;
+    private final InvalidationTracker.Observer vacationObserver = new InvalidationTracker.Observer("Vacation") {
+        @Override
+        public void onInvalidated(@NonNull Set<String> tables) {
+            AppLog.d(TAG, "onInvalidated: Vacation table changed");
+            mainHandler.post(VacationPagingSource.this::refresh);
+        }
+    };
+
+
+    // inner classes
+    public interface OnPageLoadedListener {
+        void onPageLoaded(List<Vacation> vacations);
+    }
+
+
+    // constructors
+    public VacationPagingSource(VacationPlannerRepository repository) {
+        this(repository, DEFAULT_PAGE_SIZE);
+    }
+
+    public VacationPagingSource(VacationPlannerRepository repository, int pageSize) {
+        this.repository = repository;
+        this.pageSize = pageSize;
+    }
+
+
+    // listener setters
+    public void setOnPageLoadedListener(OnPageLoadedListener listener) {
+        this.listener = listener;
+    }
+
+
+    // methods
+    public void startObserving() {
+        repository.addTableObserver(vacationObserver);
+    }
+
+    public void stopObserving() {
+        repository.removeTableObserver(vacationObserver);
+    }
+
+    public void loadNextPage() {
+        if (loading || endReached) {
+            return;
+        }
+        loading = true;
+
+        Vacation last = loadedVacations.isEmpty() ? null : loadedVacations.get(loadedVacations.size() - 1);
+
+        final int requestGeneration = generation;
+        AppLog.d(TAG, "loadNextPage: Loading page after ID {}", last != null ? last.getId() : 0L);
+        repository.getVacationsPage(last, pageSize, page ->
+                mainHandler.post(Tracing.traced("VacationPagingSource.onPageLoaded", () -> onPageLoaded(requestGeneration, page, pageSize))));
+    }
+
+    public void refresh() {
+        // reload everything the user has already scrolled through in one query
+        int limit = Math.max(pageSize, loadedVacations.size());
+        generation++;
+        loading = true;
+        endReached = false;
+
+        final int requestGeneration = generation;
+        AppLog.d(TAG, "refresh: Reloading first {} vacations", limit);
+        repository.getVacationsPage(null, limit, page ->
+                mainHandler.post(Tracing.traced("VacationPagingSource.onRefreshLoaded", () -> {
+                    if (requestGeneration == generation) {
+                        loadedVacations.clear();
+                    }
+                    onPageLoaded(requestGeneration, page, limit);
+                })));
+    }
+
+    public List<Vacation> getLoadedVacations() {
+        return new ArrayList<>(loadedVacations);
+    }
+
+    private void onPageLoaded(int requestGeneration, List<Vacation> page, int requestedSize) {
+        if (requestGeneration != generation) {
+            AppLog.d(TAG, "onPageLoaded: Dropping stale page");
+            return;
+        }
+        loading = false;
+        endReached = page.size() < requestedSize;
+        loadedVacations.addAll(page);
+        AppLog.d(TAG, "onPageLoaded: {} vacations loaded, end reached: {}", loadedVacations.size(), endReached);
+        notifyListener();
+    }
+
+    private void notifyListener() {
+        if (listener != null) {
+            listener.onPageLoaded(new ArrayList<>(loadedVacations));
+        }
+    }
+}
@@ -5,9 +5,11 @@ import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
 
 import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.ExcursionFts;
 import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.models.VacationFts;
 
-@Database(entities = {Vacation.class, Excursion.class}, version = 3, exportSchema = false)
+@Database(entities = {Vacation.class, Excursion.class, VacationFts.class, ExcursionFts.class}, version = 5, exportSchema = true)
 @TypeConverters(Converters.class)
 public abstract class VacationPlannerDatabase extends RoomDatabase {
 
@@ -1,30 +1,59 @@
 package com.school.vacationplanner.repo;
 
 import android.content.Context;
-import android.util.Log;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteConstraintException;
 
+import androidx.lifecycle.LiveData;
+import androidx.room.InvalidationTracker;
 import androidx.room.Room;
 
 import com.school.vacationplanner.models.Excursion;
 import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.models.VacationWithExcursions;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.ICalendarWriter;
+import com.school.vacationplanner.util.SharePayloadGenerator;
+import com.school.vacationplanner.workers.ReminderScheduler;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 
 public class VacationPlannerRepository {
 
     // constants
     private static final String TAG = "VacationPlannerRepository";
-    private static final int NUMBER_OF_THREADS = 4;
-    private static final ExecutorService databaseExecutor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    private static final DatabaseScheduler SHARED_SCHEDULER = new DatabaseScheduler();
     private static final String DATABASE_NAME = "vacation_planner.db";
+    private static final int VACATION_CACHE_SIZE = 256;
+    private static final int SEARCH_LIMIT = 100;
+    private static final int SHARE_PAYLOAD_CACHE_SIZE = 32;
+    private static final int IMPORT_BATCH_SIZE = 500;
 
 
     // variables
     private static VacationPlannerRepository vacationRepo;
+    private final VacationPlannerDatabase database;
+    private final DatabaseScheduler scheduler;
     private final VacationDao vacationDao;
     private final ExcursionDao excursionDao;
+    private final VacationCache vacationCache = new VacationCache(VACATION_CACHE_SIZE);
+    private final SharePayloadGenerator sharePayloads = new SharePayloadGenerator(SHARE_PAYLOAD_CACHE_SIZE, Clock.systemUTC());
+    private final RepositoryMetrics metrics = new RepositoryMetrics();
+    private final WriteListener writeListener;
 
 
     // inner classes
@@ -32,21 +61,127 @@ public class VacationPlannerRepository {
         void onComplete(T result);
     }
 
+    // told about every committed write, on the writer lane, so per-event work can follow the tables row by row
+    public interface WriteListener {
+        WriteListener NONE = new WriteListener() {
+            @Override
+            public void onVacationAdded(Vacation vacation) {
+            }
+
+            @Override
+            public void onVacationUpdated(Vacation vacation) {
+            }
+
+            @Override
+            public void onVacationDeleted(long vacationId) {
+            }
+
+            @Override
+            public void onExcursionAdded(Excursion excursion) {
+            }
+
+            @Override
+            public void onExcursionUpdated(Excursion excursion) {
+            }
+
+            @Override
+            public void onExcursionDeleted(long excursionId) {
+            }
+
+            @Override
+            public void onAllDeleted() {
+            }
+        };
+
+        void onVacationAdded(Vacation vacation);
+
+        void onVacationUpdated(Vacation vacation);
+
+        void onVacationDeleted(long vacationId);
+
+        void onExcursionAdded(Excursion excursion);
+
+        void onExcursionUpdated(Excursion excursion);
+
+        void onExcursionDeleted(long excursionId);
+
+        void onAllDeleted();
+    }
+
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+
+    // holds at most one batch of restored rows; vacations are flushed before the first excursion that may reference them
+    private class BatchingSink implements BackupReader.Sink {
+        private final List<Vacation> vacations = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private final List<Excursion> excursions = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private int rows;
+
+        @Override
+        public void onVacation(Vacation vacation) {
+            vacations.add(vacation);
+            if (vacations.size() == IMPORT_BATCH_SIZE) {
+                flushVacations();
+            }
+        }
+
+        @Override
+        public void onExcursion(Excursion excursion) {
+            flushVacations();
+            excursions.add(excursion);
+            if (excursions.size() == IMPORT_BATCH_SIZE) {
+                flushExcursions();
+            }
+        }
+
+        void flush() {
+            flushVacations();
+            flushExcursions();
+        }
+
+        private void flushVacations() {
+            if (!vacations.isEmpty()) {
+                rows += metrics.time("VacationDao.addVacations", () -> vacationDao.addVacations(vacations)).size();
+                vacations.clear();
+            }
+        }
+
+        private void flushExcursions() {
+            if (!excursions.isEmpty()) {
+                rows += metrics.time("ExcursionDao.addExcursions", () -> excursionDao.addExcursions(excursions)).size();
+                excursions.clear();
+            }
+        }
+    }
+
     // constructors
     public static VacationPlannerRepository getInstance(Context context) {
-        Log.d(TAG, "getInstance: Getting instance of VacationPlannerRepository");
+        AppLog.d(TAG, "getInstance: Getting instance of VacationPlannerRepository");
         if (vacationRepo == null) {
             vacationRepo = new VacationPlannerRepository(context);
-            Log.d(TAG, "getInstance: Created new instance of VacationPlannerRepository");
+            AppLog.d(TAG, "getInstance: Created new instance of VacationPlannerRepository");
         }
         return vacationRepo;
     }
 
     private VacationPlannerRepository(Context context) {
-        Log.d(TAG, "VacationPlannerRepository: Initializing database");
-        VacationPlannerDatabase database = Room.databaseBuilder(context, VacationPlannerDatabase.class, DATABASE_NAME)
-                .fallbackToDestructiveMigration()
-                .build();
+        this(Room.databaseBuilder(context, VacationPlannerDatabase.class, DATABASE_NAME)
+                .addMigrations(Migrations.ALL)
+                .fallbackToDestructiveMigrationFrom(Migrations.DESTRUCTIVE_FROM)
+                .build(), SHARED_SCHEDULER, new ReminderScheduler(context));
+    }
+
+    // visible for tests, which hand in a database with stubbed DAOs
+    VacationPlannerRepository(VacationPlannerDatabase database) {
+        this(database, SHARED_SCHEDULER, WriteListener.NONE);
+    }
+
+    VacationPlannerRepository(VacationPlannerDatabase database, DatabaseScheduler scheduler, WriteListener writeListener) {
+        AppLog.d(TAG, "VacationPlannerRepository: Initializing database");
+        this.database = database;
+        this.scheduler = scheduler;
+        this.writeListener = writeListener;
         vacationDao = database.vacationDao();
         excursionDao = database.excursionDao();
     }
@@ -54,107 +189,642 @@ public class VacationPlannerRepository {
 
     // methods
     public void addVacation(Vacation vacation, Callback<Long> callback) {
-        Log.d(TAG, "addVacation: Adding vacation - " + vacation.getTitle());
-        databaseExecutor.execute(() -> {
-            long id = vacationDao.addVacation(vacation);
-            Log.d(TAG, "addVacation: Vacation added with ID " + id);
+        AppLog.d(TAG, "addVacation: Adding vacation - {}", vacation.getTitle());
+        scheduler.write("Repo.addVacation", () -> {
+            long id = metrics.time("VacationDao.addVacation", () -> vacationDao.addVacation(vacation));
+            vacation.setId(id);
+            vacationCache.put(vacation);
+            writeListener.onVacationAdded(vacation);
+            AppLog.d(TAG, "addVacation: Vacation added with ID {}", id);
             callback.onComplete(id);
         });
     }
 
     public void editVacation(Vacation vacation) {
-        Log.d(TAG, "editVacation: Editing vacation - " + vacation.getTitle());
-        databaseExecutor.execute(() -> {
-            Log.d(TAG, "editVacation: Vacation updated - " + vacation.getTitle());
-            vacationDao.updateVacation(vacation);
+        AppLog.d(TAG, "editVacation: Editing vacation - {}", vacation.getTitle());
+        scheduler.write("Repo.editVacation", () -> {
+            AppLog.d(TAG, "editVacation: Vacation updated - {}", vacation.getTitle());
+            if (metrics.time("VacationDao.updateVacation", () -> vacationDao.updateVacation(vacation)) > 0) {
+                vacationCache.put(vacation);
+                writeListener.onVacationUpdated(vacation);
+            } else {
+                vacationCache.remove(vacation.getId());
+            }
+            sharePayloads.invalidate(vacation.getId());
         });
     }
 
     public void deleteVacation(Vacation vacation, Callback<Boolean> callback) {
-        Log.d(TAG, "deleteVacation: Deleting vacation - " + vacation.getTitle());
-        databaseExecutor.execute(() -> {
-            List<Excursion> excursions = excursionDao.getExcursionsForVacation(vacation.getId());
-            if (excursions == null || excursions.isEmpty()) {
-                vacationDao.deleteVacation(vacation);
-                Log.d(TAG, "deleteVacation: Vacation deleted - " + vacation.getTitle());
+        AppLog.d(TAG, "deleteVacation: Deleting vacation - {}", vacation.getTitle());
+        scheduler.write("Repo.deleteVacation", () -> {
+            if (deleteVacationIfNoExcursions(vacation.getId())) {
+                vacationCache.remove(vacation.getId());
+                sharePayloads.invalidate(vacation.getId());
+                writeListener.onVacationDeleted(vacation.getId());
+                AppLog.d(TAG, "deleteVacation: Vacation deleted - {}", vacation.getTitle());
                 callback.onComplete(true);
             } else {
-                Log.d(TAG, "deleteVacation: Vacation not deleted due to associated excursions");
+                AppLog.d(TAG, "deleteVacation: Vacation not deleted due to associated excursions");
                 callback.onComplete(false);
             }
         });
     }
 
     public void getVacationById(long vacationId, Callback<Vacation> callback) {
-        Log.d(TAG, "getVacationById: Fetching vacation for ID " + vacationId);
-        databaseExecutor.execute(() -> {
-            Vacation vacation = vacationDao.getVacationById(vacationId);
-            Log.d(TAG, "getVacationById: Retrieved vacation " + vacation);
-            callback.onComplete(vacation);
-        });
+        deliver(getVacationByIdAsync(vacationId), callback);
+    }
+
+    public void getVacationWithExcursions(long vacationId, Callback<VacationWithExcursions> callback) {
+        deliver(getVacationWithExcursionsAsync(vacationId), callback);
     }
 
     public void getAllVacations(Callback<List<Vacation>> callback) {
-        Log.d(TAG, "getAllVacations: Fetching all vacations");
-        databaseExecutor.execute(() -> {
-            List<Vacation> vacations = vacationDao.getAllVacations();
-            Log.d(TAG, "getAllVacations: Retrieved " + vacations.size() + " vacations");
+        AppLog.d(TAG, "getAllVacations: Fetching all vacations");
+        scheduler.read("Repo.getAllVacations", () -> {
+            List<Vacation> vacations = metrics.time("VacationDao.getAllVacations", vacationDao::getAllVacations);
+            AppLog.d(TAG, "getAllVacations: Retrieved {} vacations", vacations.size());
             callback.onComplete(vacations);
         });
     }
 
+    // after is the last row already loaded, or null for the first page
+    public void getVacationsPage(Vacation after, int pageSize, Callback<List<Vacation>> callback) {
+        AppLog.d(TAG, "getVacationsPage: Fetching {} vacations after ID {}", pageSize, after != null ? after.getId() : 0);
+        scheduler.read("Repo.getVacationsPage", () -> {
+            List<Vacation> vacations;
+            if (after == null) {
+                vacations = metrics.time("VacationDao.getFirstVacationsPage", () -> vacationDao.getFirstVacationsPage(pageSize));
+            } else if (after.getStartDate() == null) {
+                vacations = metrics.time("VacationDao.getVacationsPageAfterUndated",
+                        () -> vacationDao.getVacationsPageAfterUndated(after.getId(), pageSize));
+            } else {
+                vacations = metrics.time("VacationDao.getVacationsPageAfter",
+                        () -> vacationDao.getVacationsPageAfter(after.getStartDate(), after.getId(), pageSize));
+            }
+            AppLog.d(TAG, "getVacationsPage: Retrieved {} vacations", vacations.size());
+            callback.onComplete(vacations);
+        });
+    }
+
+    public void getVacationsStartingOrEndingOn(LocalDate date, Callback<List<Vacation>> callback) {
+        deliver(getVacationsStartingOrEndingOnAsync(date), callback);
+    }
+
+    public void search(String query, Callback<List<Vacation>> callback) {
+        deliver(searchAsync(query), callback);
+    }
+
     public void addExcursion(Excursion excursion, Callback<Long> callback) {
-        Log.d(TAG, "addExcursion: Adding excursion for vacation ID " + excursion.getVacationId());
-        databaseExecutor.execute(() -> {
-            if (vacationDao.getVacationById(excursion.getVacationId()) != null) {
-                long id = excursionDao.addExcursion(excursion);
-                Log.d(TAG, "addExcursion: Excursion added with ID " + id);
-                callback.onComplete(id);
+        AppLog.d(TAG, "addExcursion: Adding excursion for vacation ID {}", excursion.getVacationId());
+        scheduler.write("Repo.addExcursion", () -> {
+            long id = insertExcursion(excursion);
+            if (id != -1) {
+                excursion.setId(id);
+                sharePayloads.invalidate(excursion.getVacationId());
+                writeListener.onExcursionAdded(excursion);
+                AppLog.d(TAG, "addExcursion: Excursion added with ID {}", id);
             } else {
-                Log.d(TAG, "addExcursion: No vacation found for ID " + excursion.getVacationId());
-                callback.onComplete(-1L);
+                AppLog.d(TAG, "addExcursion: No vacation found for ID {}", excursion.getVacationId());
             }
+            callback.onComplete(id);
         });
     }
 
     public void editExcursion(Excursion excursion) {
-        Log.d(TAG, "editExcursion: Editing excursion - " + excursion.getTitle());
-        databaseExecutor.execute(() -> {
-            Log.d(TAG, "editExcursion: Excursion updated - " + excursion.getTitle());
-            excursionDao.updateExcursion(excursion);
+        AppLog.d(TAG, "editExcursion: Editing excursion - {}", excursion.getTitle());
+        scheduler.write("Repo.editExcursion", () -> {
+            AppLog.d(TAG, "editExcursion: Excursion updated - {}", excursion.getTitle());
+            if (metrics.time("ExcursionDao.updateExcursion", () -> excursionDao.updateExcursion(excursion)) > 0) {
+                writeListener.onExcursionUpdated(excursion);
+            }
+            sharePayloads.invalidate(excursion.getVacationId());
         });
     }
 
 
     public void deleteExcursion(Excursion excursion, Callback<Boolean> callback) {
-        Log.d(TAG, "deleteExcursion: Deleting excursion - " + excursion.getTitle());
-        databaseExecutor.execute(() -> {
-            excursionDao.deleteExcursion(excursion);
-            Log.d(TAG, "deleteExcursion: Excursion deleted - " + excursion.getTitle());
+        AppLog.d(TAG, "deleteExcursion: Deleting excursion - {}", excursion.getTitle());
+        scheduler.write("Repo.deleteExcursion", () -> {
+            metrics.time("ExcursionDao.deleteExcursion", () -> excursionDao.deleteExcursion(excursion));
+            sharePayloads.invalidate(excursion.getVacationId());
+            writeListener.onExcursionDeleted(excursion.getId());
+            AppLog.d(TAG, "deleteExcursion: Excursion deleted - {}", excursion.getTitle());
             callback.onComplete(true);
         });
     }
 
     public void getExcursionsForVacation(long vacationId, Callback<List<Excursion>> callback) {
-        Log.d(TAG, "getExcursionsForVacation: Fetching excursions for vacation ID " + vacationId);
-        databaseExecutor.execute(() -> {
-                    if (vacationDao.getVacationById(vacationId) != null) {
-                        List<Excursion> excursions = excursionDao.getExcursionsForVacation(vacationId);
-                        Log.d(TAG, "getExcursionsForVacation: Retrieved " + excursions.size() + " excursions for vacation ID " + vacationId);
-                        callback.onComplete(excursions);
-                    } else {
-                        Log.d(TAG, "getExcursionsForVacation: No vacation found for ID " + vacationId);
-                    }
-                }
-        );
+        deliver(getExcursionsForVacationAsync(vacationId), callback);
     }
 
     public void getAllExcursions(Callback<List<Excursion>> callback) {
-        Log.d(TAG, "getAllExcursions: Fetching all excursions");
-        databaseExecutor.execute(() -> {
-            List<Excursion> excursions = excursionDao.getAllExcursions();
-            Log.d(TAG, "getAllExcursions: Retrieved " + excursions.size() + " excursions");
+        AppLog.d(TAG, "getAllExcursions: Fetching all excursions");
+        scheduler.read("Repo.getAllExcursions", () -> {
+            List<Excursion> excursions = metrics.time("ExcursionDao.getAllExcursions", excursionDao::getAllExcursions);
+            AppLog.d(TAG, "getAllExcursions: Retrieved {} excursions", excursions.size());
             callback.onComplete(excursions);
         });
     }
+
+    public void getExcursionsOn(LocalDate date, Callback<List<Excursion>> callback) {
+        deliver(getExcursionsOnAsync(date), callback);
+    }
+
+
+    // async methods, for composing reads, combining results and applying timeouts without parking a thread
+    public CompletableFuture<Vacation> getVacationByIdAsync(long vacationId) {
+        Vacation cached = vacationCache.get(vacationId);
+        if (cached != null) {
+            AppLog.d(TAG, "getVacationByIdAsync: Cache hit for ID {}", vacationId);
+            return CompletableFuture.completedFuture(cached);
+        }
+        AppLog.d(TAG, "getVacationByIdAsync: Fetching vacation for ID {}", vacationId);
+        return scheduler.submitRead(DatabaseScheduler.Priority.USER, "Repo.getVacationByIdAsync", () -> {
+            Vacation vacation = queryVacation(vacationId);
+            AppLog.d(TAG, "getVacationByIdAsync: Retrieved vacation {}", vacation);
+            return vacation;
+        });
+    }
+
+    public CompletableFuture<VacationWithExcursions> getVacationWithExcursionsAsync(long vacationId) {
+        AppLog.d(TAG, "getVacationWithExcursionsAsync: Fetching vacation and excursions for ID {}", vacationId);
+        return scheduler.submitRead(DatabaseScheduler.Priority.USER, "Repo.getVacationWithExcursionsAsync", () -> {
+            long stamp = vacationCache.stamp();
+            VacationWithExcursions result = metrics.time("VacationDao.getVacationWithExcursions", () -> vacationDao.getVacationWithExcursions(vacationId));
+            if (result != null) {
+                vacationCache.fill(result.getVacation(), stamp);
+            }
+            AppLog.d(TAG, "getVacationWithExcursionsAsync: Retrieved {} excursions, vacation found: {}",
+                    result != null ? result.getExcursions().size() : 0, result != null);
+            return result;
+        });
+    }
+
+    // text, HTML and iCalendar for sharing; repeated shares of an unchanged vacation are served from memory
+    public CompletableFuture<SharePayloadGenerator.SharePayload> getSharePayloadAsync(long vacationId) {
+        SharePayloadGenerator.SharePayload cached = sharePayloads.getCached(vacationId);
+        if (cached != null) {
+            AppLog.d(TAG, "getSharePayloadAsync: Cache hit for vacation ID {}", vacationId);
+            return CompletableFuture.completedFuture(cached);
+        }
+        AppLog.d(TAG, "getSharePayloadAsync: Building share payload for vacation ID {}", vacationId);
+        return scheduler.submitRead(DatabaseScheduler.Priority.USER, "Repo.getSharePayloadAsync", () -> {
+            long stamp = sharePayloads.stamp();
+            VacationWithExcursions details = metrics.time("VacationDao.getVacationWithExcursions", () -> vacationDao.getVacationWithExcursions(vacationId));
+            return details != null ? sharePayloads.generate(details, stamp) : null;
+        });
+    }
+
+    // vacations whose title or lodging, or any excursion title, has a word starting with each term of the query
+    public CompletableFuture<List<Vacation>> searchAsync(String query) {
+        String matchQuery = toMatchQuery(query);
+        if (matchQuery.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        AppLog.d(TAG, "searchAsync: Searching for {}", matchQuery);
+        return scheduler.submitRead(DatabaseScheduler.Priority.USER, "Repo.searchAsync", () -> {
+            List<Vacation> vacations = metrics.time("VacationDao.searchVacations", () -> vacationDao.searchVacations(matchQuery, SEARCH_LIMIT));
+            AppLog.d(TAG, "searchAsync: Found {} vacations", vacations.size());
+            return vacations;
+        });
+    }
+
+    public CompletableFuture<List<Vacation>> getVacationsStartingOrEndingOnAsync(LocalDate date) {
+        AppLog.d(TAG, "getVacationsStartingOrEndingOnAsync: Fetching vacations starting or ending on {}", date);
+        return scheduler.submitRead(DatabaseScheduler.Priority.BACKGROUND, "Repo.getVacationsStartingOrEndingOnAsync", () -> {
+            List<Vacation> vacations = metrics.time("VacationDao.getVacationsStartingOrEndingOn", () -> vacationDao.getVacationsStartingOrEndingOn(date));
+            AppLog.d(TAG, "getVacationsStartingOrEndingOnAsync: Retrieved {} vacations", vacations.size());
+            return vacations;
+        });
+    }
+
+    // completes with null when the vacation does not exist
+    public CompletableFuture<List<Excursion>> getExcursionsForVacationAsync(long vacationId) {
+        AppLog.d(TAG, "getExcursionsForVacationAsync: Fetching excursions for vacation ID {}", vacationId);
+        return scheduler.submitRead(DatabaseScheduler.Priority.USER, "Repo.getExcursionsForVacationAsync", () -> {
+            if (!vacationExists(vacationId)) {
+                AppLog.d(TAG, "getExcursionsForVacationAsync: No vacation found for ID {}", vacationId);
+                return null;
+            }
+            List<Excursion> excursions = metrics.time("ExcursionDao.getExcursionsForVacation", () -> excursionDao.getExcursionsForVacation(vacationId));
+            AppLog.d(TAG, "getExcursionsForVacationAsync: Retrieved {} excursions for vacation ID {}", excursions.size(), vacationId);
+            return excursions;
+        });
+    }
+
+    public CompletableFuture<List<Excursion>> getExcursionsOnAsync(LocalDate date) {
+        AppLog.d(TAG, "getExcursionsOnAsync: Fetching excursions on {}", date);
+        return scheduler.submitRead(DatabaseScheduler.Priority.BACKGROUND, "Repo.getExcursionsOnAsync", () -> {
+            List<Excursion> excursions = metrics.time("ExcursionDao.getExcursionsOn", () -> excursionDao.getExcursionsOn(date));
+            AppLog.d(TAG, "getExcursionsOnAsync: Retrieved {} excursions", excursions.size());
+            return excursions;
+        });
+    }
+
+    // cache-aware lookups, run on a scheduler thread
+    private Vacation loadVacation(long vacationId) {
+        Vacation cached = vacationCache.get(vacationId);
+        return cached != null ? cached : queryVacation(vacationId);
+    }
+
+    private Vacation queryVacation(long vacationId) {
+        long stamp = vacationCache.stamp();
+        Vacation vacation = metrics.time("VacationDao.getVacationById", () -> vacationDao.getVacationById(vacationId));
+        vacationCache.fill(vacation, stamp);
+        return vacation;
+    }
+
+    private void invalidateSharePayloads(List<Excursion> excursions) {
+        for (Excursion excursion : excursions) {
+            sharePayloads.invalidate(excursion.getVacationId());
+        }
+    }
+
+    // the foreign key rejects excursions whose vacation is gone, without a lookup beforehand
+    private long insertExcursion(Excursion excursion) {
+        try {
+            return metrics.time("ExcursionDao.addExcursion", () -> excursionDao.addExcursion(excursion));
+        } catch (SQLiteConstraintException e) {
+            return -1L;
+        }
+    }
+
+    private boolean deleteVacationIfNoExcursions(long vacationId) {
+        return metrics.time("VacationDao.deleteVacationIfNoExcursions", () -> vacationDao.deleteVacationIfNoExcursions(vacationId)) > 0;
+    }
+
+    private boolean vacationExists(long vacationId) {
+        return loadVacation(vacationId) != null;
+    }
+
+    // turns free text into an FTS4 prefix query: "rome hot" becomes "rome* hot*", and FTS operators are dropped
+    static String toMatchQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        StringBuilder matchQuery = new StringBuilder();
+        for (String term : query.split("[^\\p{L}\\p{N}]+")) {
+            if (term.isEmpty() || term.equals("AND") || term.equals("OR") || term.equals("NOT") || term.equals("NEAR")) {
+                continue;
+            }
+            if (matchQuery.length() > 0) {
+                matchQuery.append(' ');
+            }
+            matchQuery.append(term).append('*');
+        }
+        return matchQuery.toString();
+    }
+
+    // callbacks always fire; a failed read is logged and delivered as null
+    private static <T> void deliver(CompletableFuture<T> future, Callback<T> callback) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                AppLog.e(TAG, "deliver: Repository read failed", error);
+                callback.onComplete(null);
+            } else {
+                callback.onComplete(result);
+            }
+        });
+    }
+
+
+    // batch methods, each committed as a single transaction
+    public void addVacations(List<Vacation> vacations, Callback<List<Long>> callback) {
+        AppLog.d(TAG, "addVacations: Adding {} vacations", vacations.size());
+        scheduler.write("Repo.addVacations", () -> {
+            List<Long> ids = database.runInTransaction(() -> metrics.time("VacationDao.addVacations", () -> vacationDao.addVacations(vacations)));
+            for (int i = 0; i < ids.size(); i++) {
+                vacations.get(i).setId(ids.get(i));
+                vacationCache.put(vacations.get(i));
+                writeListener.onVacationAdded(vacations.get(i));
+            }
+            AppLog.d(TAG, "addVacations: Added {} vacations", ids.size());
+            callback.onComplete(ids);
+        });
+    }
+
+    public void editVacations(List<Vacation> vacations) {
+        AppLog.d(TAG, "editVacations: Editing {} vacations", vacations.size());
+        scheduler.write("Repo.editVacations", () -> {
+            // row by row, so only vacations that still exist are cached and rescheduled
+            List<Vacation> updated = new ArrayList<>(vacations.size());
+            database.runInTransaction(() -> {
+                for (Vacation vacation : vacations) {
+                    if (metrics.time("VacationDao.updateVacation", () -> vacationDao.updateVacation(vacation)) > 0) {
+                        updated.add(vacation);
+                    }
+                }
+            });
+            for (Vacation vacation : updated) {
+                vacationCache.put(vacation);
+                writeListener.onVacationUpdated(vacation);
+            }
+            for (Vacation vacation : vacations) {
+                sharePayloads.invalidate(vacation.getId());
+            }
+            AppLog.d(TAG, "editVacations: Updated {} vacations", updated.size());
+        });
+    }
+
+    public void deleteVacations(List<Vacation> vacations, Callback<Integer> callback) {
+        AppLog.d(TAG, "deleteVacations: Deleting {} vacations", vacations.size());
+        scheduler.write("Repo.deleteVacations", () -> {
+            List<Vacation> deleted = new ArrayList<>();
+            database.runInTransaction(() -> {
+                // same rule as deleteVacation: vacations with excursions are kept
+                for (Vacation vacation : vacations) {
+                    if (deleteVacationIfNoExcursions(vacation.getId())) {
+                        deleted.add(vacation);
+                    }
+                }
+            });
+            for (Vacation vacation : deleted) {
+                vacationCache.remove(vacation.getId());
+                sharePayloads.invalidate(vacation.getId());
+                writeListener.onVacationDeleted(vacation.getId());
+            }
+            AppLog.d(TAG, "deleteVacations: Deleted {} vacations", deleted.size());
+            callback.onComplete(deleted.size());
+        });
+    }
+
+    public void addExcursions(List<Excursion> excursions, Callback<List<Long>> callback) {
+        AppLog.d(TAG, "addExcursions: Adding {} excursions", excursions.size());
+        scheduler.write("Repo.addExcursions", () -> {
+            List<Long> ids = database.runInTransaction(() -> {
+                // same rule as addExcursion: excursions without a vacation get -1
+                List<Long> result = new ArrayList<>(excursions.size());
+                for (Excursion excursion : excursions) {
+                    result.add(insertExcursion(excursion));
+                }
+                return result;
+            });
+            int added = 0;
+            for (int i = 0; i < ids.size(); i++) {
+                if (ids.get(i) != -1) {
+                    excursions.get(i).setId(ids.get(i));
+                    writeListener.onExcursionAdded(excursions.get(i));
+                    added++;
+                }
+            }
+            invalidateSharePayloads(excursions);
+            AppLog.d(TAG, "addExcursions: Added {} of {} excursions", added, excursions.size());
+            callback.onComplete(ids);
+        });
+    }
+
+    public void editExcursions(List<Excursion> excursions) {
+        AppLog.d(TAG, "editExcursions: Editing {} excursions", excursions.size());
+        scheduler.write("Repo.editExcursions", () -> {
+            // row by row, so excursions deleted in the meantime are not rescheduled
+            List<Excursion> updated = new ArrayList<>(excursions.size());
+            database.runInTransaction(() -> {
+                for (Excursion excursion : excursions) {
+                    if (metrics.time("ExcursionDao.updateExcursion", () -> excursionDao.updateExcursion(excursion)) > 0) {
+                        updated.add(excursion);
+                    }
+                }
+            });
+            for (Excursion excursion : updated) {
+                writeListener.onExcursionUpdated(excursion);
+            }
+            invalidateSharePayloads(excursions);
+            AppLog.d(TAG, "editExcursions: Updated {} excursions", updated.size());
+        });
+    }
+
+    public void deleteExcursions(List<Excursion> excursions, Callback<Integer> callback) {
+        AppLog.d(TAG, "deleteExcursions: Deleting {} excursions", excursions.size());
+        scheduler.write("Repo.deleteExcursions", () -> {
+            // row by row, so only excursions that were still there are reported
+            List<Excursion> deleted = new ArrayList<>(excursions.size());
+            database.runInTransaction(() -> {
+                for (Excursion excursion : excursions) {
+                    if (metrics.time("ExcursionDao.deleteExcursion", () -> excursionDao.deleteExcursion(excursion)) > 0) {
+                        deleted.add(excursion);
+                    }
+                }
+            });
+            for (Excursion excursion : deleted) {
+                writeListener.onExcursionDeleted(excursion.getId());
+            }
+            invalidateSharePayloads(excursions);
+            AppLog.d(TAG, "deleteExcursions: Deleted {} excursions", deleted.size());
+            callback.onComplete(deleted.size());
+        });
+    }
+
+
+    // backup and restore. the export reads both tables in one transaction on a reader, so it sees a single WAL snapshot
+    // without holding the writer lane while it streams; the import stays on the writer lane
+    public void exportBackup(OutputStream output, Callback<Integer> callback) {
+        AppLog.d(TAG, "exportBackup: Exporting backup");
+        scheduler.read("Repo.exportBackup", () -> {
+            int rows;
+            try (BackupWriter writer = new BackupWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)))) {
+                database.runInTransaction(() -> {
+                    streamVacations(writer::writeVacation);
+                    streamExcursions(writer::writeExcursion);
+                    return null;
+                });
+                rows = writer.getVacationCount() + writer.getExcursionCount();
+                AppLog.d(TAG, "exportBackup: Exported {} vacations and {} excursions", writer.getVacationCount(), writer.getExcursionCount());
+            } catch (Exception e) {
+                AppLog.e(TAG, "exportBackup: Export failed", e);
+                rows = -1;
+            }
+            callback.onComplete(rows);
+        });
+    }
+
+    // replaces every vacation and excursion; a bad file rolls back and leaves the current data in place
+    public void importBackup(InputStream input, Callback<Integer> callback) {
+        AppLog.d(TAG, "importBackup: Importing backup");
+        scheduler.write("Repo.importBackup", () -> {
+            int rows;
+            try (Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                rows = database.runInTransaction(() -> {
+                    metrics.time("ExcursionDao.deleteAllExcursions", excursionDao::deleteAllExcursions);
+                    metrics.time("VacationDao.deleteAllVacations", vacationDao::deleteAllVacations);
+                    BatchingSink sink = new BatchingSink();
+                    BackupReader.read(reader, sink);
+                    sink.flush();
+                    return sink.rows;
+                });
+                AppLog.d(TAG, "importBackup: Imported {} rows", rows);
+            } catch (Exception e) {
+                AppLog.e(TAG, "importBackup: Import failed", e);
+                rows = -1;
+            }
+            vacationCache.clear();
+            sharePayloads.invalidateAll();
+            if (rows >= 0) {
+                try {
+                    replayRows();
+                } catch (Exception e) {
+                    AppLog.e(TAG, "importBackup: Replaying rows to the write listener failed", e);
+                }
+            }
+            callback.onComplete(rows);
+        });
+    }
+
+    // reports every row as freshly added, after dropping whatever the listener held; on the writer lane, so no write interleaves
+    public void replayWrites(Callback<Integer> callback) {
+        AppLog.d(TAG, "replayWrites: Replaying all rows");
+        scheduler.write("Repo.replayWrites", () -> {
+            int rows;
+            try {
+                rows = replayRows();
+                AppLog.d(TAG, "replayWrites: Replayed {} rows", rows);
+            } catch (Exception e) {
+                AppLog.e(TAG, "replayWrites: Replay failed", e);
+                rows = -1;
+            }
+            callback.onComplete(rows);
+        });
+    }
+
+    // every dated vacation and excursion as an all-day event, streamed straight from the cursors
+    public void exportCalendar(OutputStream output, Callback<Integer> callback) {
+        AppLog.d(TAG, "exportCalendar: Exporting calendar");
+        scheduler.read("Repo.exportCalendar", () -> {
+            int events;
+            try (ICalendarWriter writer = ICalendarWriter.open(output, Clock.systemUTC())) {
+                streamVacations(writer::writeVacation);
+                streamExcursions(writer::writeExcursion);
+                writer.finish();
+                events = writer.getEventCount();
+                AppLog.d(TAG, "exportCalendar: Exported {} events", events);
+            } catch (Exception e) {
+                AppLog.e(TAG, "exportCalendar: Export failed", e);
+                events = -1;
+            }
+            callback.onComplete(events);
+        });
+    }
+
+    private int replayRows() throws IOException {
+        writeListener.onAllDeleted();
+        int[] rows = new int[1];
+        streamVacations(row -> {
+            writeListener.onVacationAdded(row);
+            rows[0]++;
+        });
+        streamExcursions(row -> {
+            writeListener.onExcursionAdded(row);
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private void streamVacations(RowWriter<Vacation> writer) throws IOException {
+        RepositoryMetrics.Timer timer = metrics.start("VacationDao.getVacationsCursor");
+        boolean failed = true;
+        try (Cursor cursor = vacationDao.getVacationsCursor()) {
+            int id = cursor.getColumnIndexOrThrow("id");
+            int title = cursor.getColumnIndexOrThrow("title");
+            int lodging = cursor.getColumnIndexOrThrow("lodging");
+            int startDate = cursor.getColumnIndexOrThrow("start_date");
+            int endDate = cursor.getColumnIndexOrThrow("end_date");
+            // one row object is reused for the whole table
+            Vacation row = new Vacation();
+            while (cursor.moveToNext()) {
+                row.setId(cursor.getLong(id));
+                row.setTitle(cursor.getString(title));
+                row.setLodging(cursor.getString(lodging));
+                row.setStartDate(cursor.isNull(startDate) ? null : Converters.fromEpochDay(cursor.getLong(startDate)));
+                row.setEndDate(cursor.isNull(endDate) ? null : Converters.fromEpochDay(cursor.getLong(endDate)));
+                writer.write(row);
+                timer.addRow();
+            }
+            failed = false;
+        } finally {
+            // includes the time spent writing rows out, which is what holds the cursor open
+            timer.stop(failed);
+        }
+    }
+
+    private void streamExcursions(RowWriter<Excursion> writer) throws IOException {
+        RepositoryMetrics.Timer timer = metrics.start("ExcursionDao.getExcursionsCursor");
+        boolean failed = true;
+        try (Cursor cursor = excursionDao.getExcursionsCursor()) {
+            int id = cursor.getColumnIndexOrThrow("id");
+            int title = cursor.getColumnIndexOrThrow("title");
+            int date = cursor.getColumnIndexOrThrow("date");
+            int vacationId = cursor.getColumnIndexOrThrow("vacation_id");
+            Excursion row = new Excursion();
+            while (cursor.moveToNext()) {
+                row.setId(cursor.getLong(id));
+                row.setTitle(cursor.getString(title));
+                row.setDate(cursor.isNull(date) ? null : Converters.fromEpochDay(cursor.getLong(date)));
+                row.setVacationId(cursor.getLong(vacationId));
+                writer.write(row);
+                timer.addRow();
+            }
+            failed = false;
+        } finally {
+            timer.stop(failed);
+        }
+    }
+
+
+    // observers
+    public LiveData<List<Excursion>> observeExcursionsForVacation(long vacationId) {
+        AppLog.d(TAG, "observeExcursionsForVacation: Observing excursions for vacation ID {}", vacationId);
+        return excursionDao.observeExcursionsForVacation(vacationId);
+    }
+
+    public void addTableObserver(InvalidationTracker.Observer observer) {
+        AppLog.d(TAG, "addTableObserver: Registering table observer");
+        database.getInvalidationTracker().addObserver(observer);
+    }
+
+    public void removeTableObserver(InvalidationTracker.Observer observer) {
+        AppLog.d(TAG, "removeTableObserver: Removing table observer");
+        database.getInvalidationTracker().removeObserver(observer);
+    }
+
+
+    // metrics
+    public DatabaseScheduler.LaneMetrics getWriteLaneMetrics() {
+        return scheduler.getWriteMetrics();
+    }
+
+    public DatabaseScheduler.LaneMetrics getReadLaneMetrics() {
+        return scheduler.getReadMetrics();
+    }
+
+    public int getVacationCacheHitCount() {
+        return vacationCache.getHitCount();
+    }
+
+    public int getVacationCacheMissCount() {
+        return vacationCache.getMissCount();
+    }
+
+    // per-DAO-method calls, rows, latency and queue wait; names are "VacationDao.getVacationById" and so on
+    public List<RepositoryMetrics.Operation> getOperationMetrics() {
+        return metrics.getOperations();
+    }
+
+    public RepositoryMetrics.Operation getOperationMetrics(String name) {
+        return metrics.get(name);
+    }
+
+    // everything above as text, for adb shell dumpsys activity com.school.vacationplanner
+    public void dumpMetrics(String prefix, PrintWriter writer) {
+        writer.print(prefix);
+        writer.println("VacationPlannerRepository:");
+        String inner = prefix + "  ";
+        writer.print(inner);
+        writer.println("writeLane " + getWriteLaneMetrics());
+        writer.print(inner);
+        writer.println("readLane " + getReadLaneMetrics());
+        writer.print(inner);
+        writer.println("vacationCache " + vacationCache);
+        writer.print(inner);
+        writer.println("sharePayloads hits=" + sharePayloads.getHitCount() + " misses=" + sharePayloads.getMissCount());
+        metrics.dump(inner, writer);
+    }
 }
@@ -0,0 +1,171 @@
+package com.school.vacationplanner.util;
+
+import android.util.Log;
+
+import com.school.vacationplanner.BuildConfig;
+
+// logging facade used instead of android.util.Log; {} placeholders are only filled in when the level is enabled
+// a disabled call does not build its message or box long, int or boolean arguments; other objects are passed as they are
+// debug calls sit behind BuildConfig.DEBUG, constant false in release builds, so release keeps only warnings and errors
+public final class AppLog {
+
+    // inner classes
+    public interface Sink {
+        boolean isLoggable(int priority);
+
+        void println(int priority, String tag, String message, Throwable error);
+    }
+
+    private static class AndroidSink implements Sink {
+        private final int minPriority;
+
+        AndroidSink(int minPriority) {
+            this.minPriority = minPriority;
+        }
+
+        @Override
+        public boolean isLoggable(int priority) {
+            return priority >= minPriority;
+        }
+
+        @Override
+        public void println(int priority, String tag, String message, Throwable error) {
+            Log.println(priority, tag, error != null ? message + '\n' + Log.getStackTraceString(error) : message);
+        }
+    }
+
+
+    // variables
+    private static volatile Sink sink = new AndroidSink(BuildConfig.DEBUG ? Log.DEBUG : Log.WARN);
+
+
+    // constructor
+    private AppLog() {
+    }
+
+
+    // debug
+    public static void d(String tag, String message) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, message, null);
+        }
+    }
+
+    public static void d(String tag, String format, Object arg) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, format(format, 1, arg, null, null), null);
+        }
+    }
+
+    // ids, positions, counts and flags; primitive overloads keep disabled calls from boxing them
+    public static void d(String tag, String format, long arg) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, format(format, 1, arg, null, null), null);
+        }
+    }
+
+    public static void d(String tag, String format, long arg1, long arg2) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, format(format, 2, arg1, arg2, null), null);
+        }
+    }
+
+    public static void d(String tag, String format, long arg1, Object arg2) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, format(format, 2, arg1, arg2, null), null);
+        }
+    }
+
+    public static void d(String tag, String format, Object arg1, long arg2) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, format(format, 2, arg1, arg2, null), null);
+        }
+    }
+
+    public static void d(String tag, String format, long arg1, boolean arg2) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, format(format, 2, arg1, arg2, null), null);
+        }
+    }
+
+    public static void d(String tag, String format, Object arg1, Object arg2) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, format(format, 2, arg1, arg2, null), null);
+        }
+    }
+
+    public static void d(String tag, String format, Object arg1, Object arg2, Object arg3) {
+        if (BuildConfig.DEBUG && sink.isLoggable(Log.DEBUG)) {
+            sink.println(Log.DEBUG, tag, format(format, 3, arg1, arg2, arg3), null);
+        }
+    }
+
+
+    // warnings
+    public static void w(String tag, String message) {
+        if (sink.isLoggable(Log.WARN)) {
+            sink.println(Log.WARN, tag, message, null);
+        }
+    }
+
+    public static void w(String tag, String format, Object arg) {
+        if (sink.isLoggable(Log.WARN)) {
+            sink.println(Log.WARN, tag, format(format, 1, arg, null, null), null);
+        }
+    }
+
+    public static void w(String tag, String message, Throwable error) {
+        if (sink.isLoggable(Log.WARN)) {
+            sink.println(Log.WARN, tag, message, error);
+        }
+    }
+
+
+    // errors
+    public static void e(String tag, String message) {
+        if (sink.isLoggable(Log.ERROR)) {
+            sink.println(Log.ERROR, tag, message, null);
+        }
+    }
+
+    public static void e(String tag, String format, Object arg) {
+        if (sink.isLoggable(Log.ERROR)) {
+            sink.println(Log.ERROR, tag, format(format, 1, arg, null, null), null);
+        }
+    }
+
+    public static void e(String tag, String message, Throwable error) {
+        if (sink.isLoggable(Log.ERROR)) {
+            sink.println(Log.ERROR, tag, message, error);
+        }
+    }
+
+    public static void e(String tag, String format, Object arg, Throwable error) {
+        if (sink.isLoggable(Log.ERROR)) {
+            sink.println(Log.ERROR, tag, format(format, 1, arg, null, null), error);
+        }
+    }
+
+
+    // visible for tests and benchmarks, which capture or silence output
+    static Sink setSink(Sink newSink) {
+        Sink previous = sink;
+        sink = newSink;
+        return previous;
+    }
+
+    // fills {} placeholders left to right; extra placeholders stay as they are
+    static String format(String format, int argCount, Object arg1, Object arg2, Object arg3) {
+        StringBuilder message = new StringBuilder(format.length() + 32);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < argCount && (placeholder = format.indexOf("{}", start)) >= 0) {
+            Object arg = argIndex == 0 ? arg1 : argIndex == 1 ? arg2 : arg3;
+            message.append(format, start, placeholder).append(arg);
+            start = placeholder + 2;
+            argIndex++;
+        }
+        return message.append(format, start, format.length()).toString();
+    }
+}
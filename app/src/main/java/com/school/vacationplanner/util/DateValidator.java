@@ -0,0 +1,44 @@
+package com.school.vacationplanner.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+// date checks shared by the vacation and excursion dialogs; plain Java, so the benchmark module can run it
+public final class DateValidator {
+
+    // constants
+    // compiled once; the dialogs used to compile it on every keystroke check
+    private static final Pattern DATE_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
+
+
+    // constructor
+    private DateValidator() {
+    }
+
+
+    // methods
+    public static boolean isValidDateFormat(String date) {
+        return date != null && DATE_PATTERN.matcher(date).matches();
+    }
+
+    // null when the text is not a real yyyy-MM-dd date, e.g. 2025-02-30
+    public static LocalDate parse(String date) {
+        if (!isValidDateFormat(date)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public static boolean isOrdered(LocalDate startDate, LocalDate endDate) {
+        return !startDate.isAfter(endDate);
+    }
+
+    public static boolean isWithin(LocalDate date, LocalDate startDate, LocalDate endDate) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+}
@@ -0,0 +1,196 @@
+package com.school.vacationplanner.util;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+// streams vacations and excursions as all-day VEVENTs of an RFC 5545 calendar, straight to the underlying writer
+// content lines are folded at 75 UTF-8 octets and text values are escaped
+public class ICalendarWriter implements Closeable {
+
+    // constants
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final String CRLF = "\r\n";
+    private static final int LINE_OCTETS = 75;
+    private static final String UID_DOMAIN = "@vacationplanner";
+
+
+    // variables
+    private final Writer out;
+    private final String timestamp;
+    private int eventCount;
+    private boolean finished;
+
+
+    // constructors
+    public ICalendarWriter(Writer out, Clock clock) throws IOException {
+        this.out = out;
+        timestamp = TIMESTAMP.format(clock.instant());
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//Vacation Planner//EN");
+        writeLine("CALSCALE:GREGORIAN");
+    }
+
+    public static ICalendarWriter open(OutputStream out, Clock clock) throws IOException {
+        return new ICalendarWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), clock);
+    }
+
+
+    // methods
+    public void writeVacation(Vacation vacation) throws IOException {
+        writeEvent("vacation-" + vacation.getId(), vacation.getTitle(), vacation.getLodging(),
+                vacation.getStartDate(), vacation.getEndDate());
+    }
+
+    public void writeExcursion(Excursion excursion) throws IOException {
+        writeEvent("excursion-" + excursion.getId(), excursion.getTitle(), null, excursion.getDate(), excursion.getDate());
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    // ends the calendar and flushes, leaving the underlying writer open
+    public void finish() throws IOException {
+        if (!finished) {
+            finished = true;
+            writeLine("END:VCALENDAR");
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+
+    // helpers
+    private void writeEvent(String uid, String summary, String location, LocalDate start, LocalDate end) throws IOException {
+        // an event needs a start; undated rows are skipped
+        if (start == null) {
+            return;
+        }
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:" + uid + UID_DOMAIN);
+        writeLine("DTSTAMP:" + timestamp);
+        writeLine("DTSTART;VALUE=DATE:" + DATE.format(start));
+        // all-day events end on the following day, exclusively
+        writeLine("DTEND;VALUE=DATE:" + DATE.format((end != null && !end.isBefore(start) ? end : start).plusDays(1)));
+        writeLine("SUMMARY:" + escape(summary));
+        if (location != null) {
+            writeLine("LOCATION:" + escape(location));
+        }
+        writeLine("END:VEVENT");
+        eventCount++;
+    }
+
+    private void writeLine(String line) throws IOException {
+        // most lines are short ASCII and go out in one call
+        if (fitsOnOneLine(line)) {
+            out.write(line);
+            out.write(CRLF);
+            return;
+        }
+
+        int octets = 0;
+        int i = 0;
+        while (i < line.length()) {
+            int codePoint = line.codePointAt(i);
+            int charCount = Character.charCount(codePoint);
+            int width = utf8Length(codePoint);
+            if (octets + width > LINE_OCTETS) {
+                // continuation lines start with a single space, which counts toward their length
+                out.write(CRLF);
+                out.write(' ');
+                octets = 1;
+            }
+            out.write(line, i, charCount);
+            octets += width;
+            i += charCount;
+        }
+        out.write(CRLF);
+    }
+
+    private static boolean fitsOnOneLine(String line) {
+        if (line.length() > LINE_OCTETS) {
+            return false;
+        }
+        int octets = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            octets += c < 0x80 ? 1 : 3;
+        }
+        return octets <= LINE_OCTETS;
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        }
+        return 4;
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement;
+            switch (c) {
+                case '\\':
+                    replacement = "\\\\";
+                    break;
+                case ';':
+                    replacement = "\\;";
+                    break;
+                case ',':
+                    replacement = "\\,";
+                    break;
+                case '\n':
+                    replacement = "\\n";
+                    break;
+                case '\r':
+                    replacement = "";
+                    break;
+                default:
+                    replacement = null;
+                    break;
+            }
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : value;
+    }
+}
@@ -0,0 +1,236 @@
+package com.school.vacationplanner.util;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.core.app.NotificationCompat;
+
+import com.school.vacationplanner.R;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// posts due reminders as one group with a summary; each event has its own tag and id, so same-day reminders sit side by side.
+// a worker hands over all of a day's vacations or excursions in one dispatch. posts are capped at MAX_POSTS_PER_SECOND:
+// events over the cap are folded into the summary, and a summary over the cap waits for the next window
+public class NotificationDispatcher {
+
+    // constants
+    public static final String KIND_VACATION_START = "vacation-start";
+    public static final String KIND_VACATION_END = "vacation-end";
+    public static final String KIND_EXCURSION = "excursion";
+    static final String CHANNEL_ID = "vacation_alert_channel";
+    static final String GROUP_KEY = "com.school.vacationplanner.REMINDERS";
+    // the id every alert used before grouping, so the summary replaces any alert left over from an update
+    static final int SUMMARY_ID = 1;
+    static final int MAX_POSTS_PER_SECOND = 5;
+    private static final String TAG = "NotificationDispatcher";
+    private static final String CHANNEL_NAME = "Vacation Alerts";
+    private static final String NOTIFICATION_TITLE = "Vacation Alert";
+    private static final long RATE_WINDOW_MILLIS = 1000;
+
+
+    // variables
+    private final Context context;
+    private final Manager manager;
+    private final Clock clock;
+    private final Handler handler;
+    // the day's posted events by tag and id, listed in the summary
+    private final Map<String, DueEvent> active = new LinkedHashMap<>();
+    private LocalDate activeDay;
+    private boolean channelCreated;
+    private long windowStartMillis;
+    private int postsInWindow;
+    // a summary is waiting for the next rate window
+    private boolean summaryPending;
+
+
+    // inner classes
+    // the two NotificationManager calls used here, so tests can hand in a fake
+    public interface Manager {
+        void createNotificationChannel(NotificationChannel channel);
+
+        void notify(String tag, int id, Notification notification);
+    }
+
+    public static class DueEvent {
+        private final String kind;
+        private final long entityId;
+        private final String title;
+        private final String message;
+
+        public DueEvent(String kind, long entityId, String title, String message) {
+            this.kind = kind;
+            this.entityId = entityId;
+            this.title = title;
+            this.message = message;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public long getEntityId() {
+            return entityId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        int getNotificationId() {
+            return Long.hashCode(entityId);
+        }
+
+        String getKey() {
+            return kind + "-" + entityId;
+        }
+    }
+
+    private static class SystemManager implements Manager {
+        private final NotificationManager notificationManager;
+
+        SystemManager(NotificationManager notificationManager) {
+            this.notificationManager = notificationManager;
+        }
+
+        @Override
+        public void createNotificationChannel(NotificationChannel channel) {
+            notificationManager.createNotificationChannel(channel);
+        }
+
+        @Override
+        public void notify(String tag, int id, Notification notification) {
+            notificationManager.notify(tag, id, notification);
+        }
+    }
+
+
+    // constructors
+    public NotificationDispatcher(Context context) {
+        this(context, new SystemManager((NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE)),
+                Clock.systemDefaultZone(), new Handler(Looper.getMainLooper()));
+    }
+
+    NotificationDispatcher(Context context, Manager manager, Clock clock, Handler handler) {
+        this.context = context.getApplicationContext();
+        this.manager = manager;
+        this.clock = clock;
+        this.handler = handler;
+    }
+
+
+    // methods
+    // returns how many events were posted on their own; the rest only appear in the summary
+    public synchronized int dispatch(List<DueEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        ensureChannel();
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(activeDay)) {
+            active.clear();
+            activeDay = today;
+        }
+
+        int posted = 0;
+        int folded = 0;
+        for (DueEvent event : events) {
+            active.put(event.getKey(), event);
+            // one post of the window stays free for the summary
+            if (tryAcquire(MAX_POSTS_PER_SECOND - 1)) {
+                manager.notify(event.getKind(), event.getNotificationId(), buildEvent(event));
+                posted++;
+            } else {
+                folded++;
+            }
+        }
+
+        if (active.size() > 1 || folded > 0) {
+            postSummary();
+        }
+        AppLog.d(TAG, "dispatch: Posted {} events, folded {} into the summary", posted, folded);
+        return posted;
+    }
+
+
+    // helpers
+    // built when posted, so a deferred summary lists everything dispatched while it waited
+    private void postSummary() {
+        if (tryAcquire(MAX_POSTS_PER_SECOND)) {
+            summaryPending = false;
+            manager.notify(null, SUMMARY_ID, buildSummary());
+        } else if (!summaryPending) {
+            summaryPending = true;
+            long delayMillis = Math.max(0, windowStartMillis + RATE_WINDOW_MILLIS - clock.millis());
+            AppLog.d(TAG, "postSummary: Rate window spent, posting the summary in {} ms", delayMillis);
+            handler.postDelayed(this::postPendingSummary, delayMillis);
+        }
+    }
+
+    private synchronized void postPendingSummary() {
+        if (summaryPending) {
+            summaryPending = false;
+            postSummary();
+        }
+    }
+
+    private void ensureChannel() {
+        if (!channelCreated) {
+            AppLog.d(TAG, "ensureChannel: Creating notification channel");
+            manager.createNotificationChannel(new NotificationChannel(CHANNEL_ID, CHANNEL_NAME, NotificationManager.IMPORTANCE_DEFAULT));
+            channelCreated = true;
+        }
+    }
+
+    private boolean tryAcquire(int limit) {
+        long now = clock.millis();
+        if (now - windowStartMillis >= RATE_WINDOW_MILLIS) {
+            windowStartMillis = now;
+            postsInWindow = 0;
+        }
+        if (postsInWindow < limit) {
+            postsInWindow++;
+            return true;
+        }
+        return false;
+    }
+
+    private Notification buildEvent(DueEvent event) {
+        return new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.mipmap.vacation_icon)
+                .setContentTitle(event.getTitle())
+                .setContentText(event.getMessage())
+                .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+                .setGroup(GROUP_KEY)
+                .build();
+    }
+
+    private Notification buildSummary() {
+        NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle();
+        for (DueEvent event : active.values()) {
+            style.addLine(event.getTitle() + ": " + event.getMessage());
+        }
+        String text = active.size() + " reminders today";
+        return new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.mipmap.vacation_icon)
+                .setContentTitle(NOTIFICATION_TITLE)
+                .setContentText(text)
+                .setStyle(style.setSummaryText(text))
+                .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+                .setGroup(GROUP_KEY)
+                .setGroupSummary(true)
+                .build();
+    }
+}
@@ -1,73 +1,48 @@
 package com.school.vacationplanner.util;
 
-import android.app.Notification;
-import android.app.NotificationChannel;
-import android.app.NotificationManager;
 import android.content.Context;
-import android.util.Log;
 
-import androidx.core.app.NotificationCompat;
-
-import com.school.vacationplanner.R;
+import java.util.List;
 
 public class NotificationUtility {
 
     // constants
     private static final String TAG = "NotificationUtility";
-    private static final String CHANNEL_ID = "vacation_alert_channel";
-    private static final String CHANNEL_NAME = "Vacation Alerts";
-    private static final String NOTIFICATION_TITLE = "Vacation Alert";
 
 
     // variables
     private static boolean notificationsEnabled = true;
+    private static NotificationDispatcher dispatcher;
 
 
     // custom methods
     public static void setNotificationsEnabled(boolean isEnabled) {
-        Log.d(TAG, "setNotificationsEnabled: " + (isEnabled ? "Enabling" : "Disabling") + " notifications.");
+        AppLog.d(TAG, "setNotificationsEnabled: {} notifications.", isEnabled ? "Enabling" : "Disabling");
         notificationsEnabled = isEnabled;
     }
 
     public static boolean areNotificationsEnabled() {
-        Log.d(TAG, "areNotificationsEnabled: " + (notificationsEnabled ? "Notifications are enabled" : "Notifications are disabled"));
+        AppLog.d(TAG, "areNotificationsEnabled: {}", notificationsEnabled ? "Notifications are enabled" : "Notifications are disabled");
         return notificationsEnabled;
     }
 
-    public static void showVacationNotification(Context context, String vacationTitle, String message) {
-        Log.d(TAG, "showVacationNotification: Checking if notifications are enabled for vacation: " + vacationTitle);
-        if (areNotificationsEnabled()) {
-            Log.d(TAG, "showVacationNotification: Notifications are enabled. Showing notification for vacation: " + vacationTitle);
-            sendNotification(context, vacationTitle, message);
-        } else {
-            Log.d(TAG, "showVacationNotification: Notifications are disabled. Skipping notification for vacation: " + vacationTitle);
+    // posts the batch as one group; disabled notifications skip it before any binder call
+    public static void showReminders(Context context, List<NotificationDispatcher.DueEvent> events) {
+        if (events.isEmpty()) {
+            return;
         }
-    }
-
-    public static void showExcursionNotification(Context context, String excursionTitle, String message) {
-        Log.d(TAG, "showExcursionNotification: Checking if notifications are enabled for excursion: " + excursionTitle);
-        if (areNotificationsEnabled()) {
-            Log.d(TAG, "showExcursionNotification: Notifications are enabled. Showing notification for excursion: " + excursionTitle);
-            sendNotification(context, excursionTitle, message);
-        } else {
-            Log.d(TAG, "showExcursionNotification: Notifications are disabled. Skipping notification for excursion: " + excursionTitle);
+        if (!areNotificationsEnabled()) {
+            AppLog.d(TAG, "showReminders: Notifications are disabled. Skipping {} reminders", events.size());
+            return;
         }
+        AppLog.d(TAG, "showReminders: Showing {} reminders", events.size());
+        getDispatcher(context).dispatch(events);
     }
 
-    private static void sendNotification(Context context, String title, String message) {
-        Log.d(TAG, "sendNotification: Sending notification for: " + title);
-        NotificationManager notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
-        Log.d(TAG, "sendNotification: NotificationManager initialized. Creating notification channel.");
-        NotificationChannel channel = new NotificationChannel(CHANNEL_ID, CHANNEL_NAME, NotificationManager.IMPORTANCE_DEFAULT);
-        notificationManager.createNotificationChannel(channel);
-
-        Notification notification = new NotificationCompat.Builder(context, CHANNEL_ID)
-                .setSmallIcon(R.mipmap.vacation_icon)
-                .setContentTitle(NOTIFICATION_TITLE)
-                .setContentText(message)
-                .setPriority(NotificationCompat.PRIORITY_DEFAULT)
-                .build();
-        Log.d(TAG, "sendNotification: Notification built. Sending notification.");
-        notificationManager.notify(1, notification);
+    private static synchronized NotificationDispatcher getDispatcher(Context context) {
+        if (dispatcher == null) {
+            dispatcher = new NotificationDispatcher(context);
+        }
+        return dispatcher;
     }
 }
@@ -0,0 +1,160 @@
+package com.school.vacationplanner.util;
+
+import androidx.collection.LruCache;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.models.VacationWithExcursions;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.List;
+
+// plain text, HTML and iCalendar versions of a shared vacation, cached per vacation id and invalidated by the repository's writes
+// a fill stamped before a newer write is returned to its caller but never cached
+public class SharePayloadGenerator {
+
+    // variables
+    private final LruCache<Long, SharePayload> payloads;
+    private final Clock clock;
+    private long version;
+
+
+    // inner classes
+    public static class SharePayload {
+        private final String text;
+        private final String html;
+        private final String iCalendar;
+
+        SharePayload(String text, String html, String iCalendar) {
+            this.text = text;
+            this.html = html;
+            this.iCalendar = iCalendar;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getHtml() {
+            return html;
+        }
+
+        public String getICalendar() {
+            return iCalendar;
+        }
+    }
+
+
+    // constructor
+    public SharePayloadGenerator(int maxEntries, Clock clock) {
+        payloads = new LruCache<>(maxEntries);
+        this.clock = clock;
+    }
+
+
+    // cache
+    public SharePayload getCached(long vacationId) {
+        return payloads.get(vacationId);
+    }
+
+    public synchronized long stamp() {
+        return version;
+    }
+
+    public SharePayload generate(VacationWithExcursions details, long stamp) {
+        Vacation vacation = details.getVacation();
+        List<Excursion> excursions = details.getExcursions();
+        SharePayload payload = new SharePayload(buildText(vacation, excursions), buildHtml(vacation, excursions),
+                buildICalendar(vacation, excursions));
+        synchronized (this) {
+            if (stamp == version) {
+                payloads.put(vacation.getId(), payload);
+            }
+        }
+        return payload;
+    }
+
+    public synchronized void invalidate(long vacationId) {
+        version++;
+        payloads.remove(vacationId);
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        payloads.evictAll();
+    }
+
+    public int getHitCount() {
+        return payloads.hitCount();
+    }
+
+    public int getMissCount() {
+        return payloads.missCount();
+    }
+
+
+    // builders
+    static String buildText(Vacation vacation, List<Excursion> excursions) {
+        StringBuilder text = new StringBuilder(128 + excursions.size() * 48);
+        text.append("Vacation Details:\n")
+                .append("Title: ").append(vacation.getTitle()).append("\n")
+                .append("Lodging: ").append(vacation.getLodging()).append("\n")
+                .append("Start Date: ").append(vacation.getStartDate()).append("\n")
+                .append("End Date: ").append(vacation.getEndDate());
+
+        if (!excursions.isEmpty()) {
+            text.append("\nExcursions:\n");
+            for (Excursion excursion : excursions) {
+                text.append("- ").append(excursion.getTitle()).append(": ").append(excursion.getDate()).append("\n");
+            }
+        } else {
+            text.append("\nNo excursions scheduled for this vacation.\n");
+        }
+        return text.toString();
+    }
+
+    static String buildHtml(Vacation vacation, List<Excursion> excursions) {
+        StringBuilder html = new StringBuilder(256 + excursions.size() * 64);
+        html.append("<h2>").append(escapeHtml(vacation.getTitle())).append("</h2>")
+                .append("<p><b>Lodging:</b> ").append(escapeHtml(vacation.getLodging())).append("<br>")
+                .append("<b>Start Date:</b> ").append(vacation.getStartDate()).append("<br>")
+                .append("<b>End Date:</b> ").append(vacation.getEndDate()).append("</p>");
+
+        if (!excursions.isEmpty()) {
+            html.append("<h3>Excursions</h3><ul>");
+            for (Excursion excursion : excursions) {
+                html.append("<li>").append(escapeHtml(excursion.getTitle())).append(": ").append(excursion.getDate()).append("</li>");
+            }
+            html.append("</ul>");
+        } else {
+            html.append("<p>No excursions scheduled for this vacation.</p>");
+        }
+        return html.toString();
+    }
+
+    String buildICalendar(Vacation vacation, List<Excursion> excursions) {
+        StringWriter ics = new StringWriter(256 + excursions.size() * 160);
+        try (ICalendarWriter writer = new ICalendarWriter(ics, clock)) {
+            writer.writeVacation(vacation);
+            for (Excursion excursion : excursions) {
+                writer.writeExcursion(excursion);
+            }
+        } catch (IOException e) {
+            // a StringWriter never fails
+            throw new UncheckedIOException(e);
+        }
+        return ics.toString();
+    }
+
+
+    // helpers
+    private static String escapeHtml(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,82 @@
+package com.school.vacationplanner.util;
+
+import androidx.tracing.Trace;
+
+import com.school.vacationplanner.BuildConfig;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// app-level sections for Perfetto and systrace: sync sections mark work on the current thread, async slices span
+// a hop between threads, such as a task waiting in a scheduler lane or a callback posted to the UI
+// gated by BuildConfig.TRACE_SECTIONS (debug, or release with -PtraceSections=true); names should be constants so enabled sections do not allocate
+public final class Tracing {
+
+    // constants
+    public static final boolean ENABLED = BuildConfig.TRACE_SECTIONS;
+
+
+    // variables
+    private static final AtomicInteger cookies = new AtomicInteger();
+
+
+    // constructor
+    private Tracing() {
+    }
+
+
+    // sync sections, ended on the thread that began them
+    public static void begin(String name) {
+        if (ENABLED) {
+            Trace.beginSection(name);
+        }
+    }
+
+    public static void end() {
+        if (ENABLED) {
+            Trace.endSection();
+        }
+    }
+
+
+    // async slices, which may end on another thread; pass the returned cookie to endAsync
+    public static int beginAsync(String name) {
+        if (!ENABLED) {
+            return 0;
+        }
+        int cookie = cookies.incrementAndGet();
+        Trace.beginAsyncSection(name, cookie);
+        return cookie;
+    }
+
+    public static void endAsync(String name, int cookie) {
+        if (ENABLED) {
+            Trace.endAsyncSection(name, cookie);
+        }
+    }
+
+
+    // hops: an async slice from here until the task runs, then a sync section around it
+    public static Runnable traced(String name, Runnable task) {
+        if (!ENABLED) {
+            return task;
+        }
+        int cookie = beginAsync(name);
+        return () -> {
+            endAsync(name, cookie);
+            begin(name);
+            try {
+                task.run();
+            } finally {
+                end();
+            }
+        };
+    }
+
+    public static Executor traced(String name, Executor executor) {
+        if (!ENABLED) {
+            return executor;
+        }
+        return command -> executor.execute(traced(name, command));
+    }
+}
@@ -1,63 +1,100 @@
 package com.school.vacationplanner.workers;
 
 import android.content.Context;
-import android.util.Log;
 
 import androidx.annotation.NonNull;
-import androidx.work.Worker;
+import androidx.concurrent.futures.CallbackToFutureAdapter;
+import androidx.work.ListenableWorker;
 import androidx.work.WorkerParameters;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.school.vacationplanner.models.Excursion;
 import com.school.vacationplanner.repo.VacationPlannerRepository;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.NotificationDispatcher;
 import com.school.vacationplanner.util.NotificationUtility;
+import com.school.vacationplanner.util.Tracing;
 
 import java.time.LocalDate;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
-public class ExcursionNotificationWorker extends Worker {
+public class ExcursionNotificationWorker extends ListenableWorker {
 
     // constants
     private static final String TAG = "VacationNotificationWorker";
     private static final String EXCURSION_DATE = "Your excursion is today!";
+    private static final long QUERY_TIMEOUT_SECONDS = 30;
+    private static final String TRACE_WORK = "ExcursionNotificationWorker.startWork";
+    private static final String TRACE_NOTIFY = "ExcursionNotificationWorker.notify";
 
 
     // constructor
     public ExcursionNotificationWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
         super(context, workerParams);
-        Log.d(TAG, "ExcursionNotificationWorker: Worker created");
+        AppLog.d(TAG, "ExcursionNotificationWorker: Worker created");
     }
 
 
     // override methods
     @NonNull
     @Override
-    public Result doWork() {
-        Log.d(TAG, "doWork: Starting work");
-        LocalDate today = LocalDate.now();
-        Log.d(TAG, "doWork: Today's date is " + today);
-        CountDownLatch latch = new CountDownLatch(1);
-        Log.d(TAG, "doWork: CountDownLatch initialized");
-
-        VacationPlannerRepository.getInstance(getApplicationContext()).getAllExcursions(excursions -> {
-            Log.d(TAG, "doWork: Retrieved excursions: " + excursions.size());
-            for (Excursion e : excursions) {
-                if (e.getDate().equals(today)) {
-                    Log.d(TAG, "doWork: Excursion starting today: " + e.getTitle());
-                    NotificationUtility.showExcursionNotification(getApplicationContext(), e.getTitle(), EXCURSION_DATE);
-                }
+    public ListenableFuture<Result> startWork() {
+        AppLog.d(TAG, "startWork: Starting work");
+        // the reminder's day; a request without one, queued before reminders were per day, checks today
+        long epochDay = getInputData().getLong(ReminderScheduler.KEY_DATE, Long.MIN_VALUE);
+        LocalDate today = epochDay == Long.MIN_VALUE ? LocalDate.now() : LocalDate.ofEpochDay(epochDay);
+        AppLog.d(TAG, "startWork: Reminder date is {}", today);
+
+        return CallbackToFutureAdapter.getFuture(completer -> {
+            if (today.isBefore(LocalDate.now())) {
+                // ran a day late, e.g. after the device was off, so the reminder's "today" no longer holds
+                AppLog.d(TAG, "startWork: Reminder day has passed, skipping");
+                completer.set(Result.success());
+                return TRACE_WORK;
             }
-            latch.countDown();
-            Log.d(TAG, "doWork: CountDownLatch decremented");
+            // async slice from here until the result is set, spanning the repository hop
+            int traceCookie = Tracing.beginAsync(TRACE_WORK);
+            loadExcursions(today)
+                    .orTimeout(QUERY_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .whenComplete((excursions, error) -> {
+                        Tracing.begin(TRACE_NOTIFY);
+                        try {
+                            if (error != null) {
+                                AppLog.e(TAG, "startWork: Failed to load excursions", error);
+                                completer.set(Result.retry());
+                                return;
+                            }
+                            AppLog.d(TAG, "startWork: Retrieved excursions: {}", excursions.size());
+                            List<NotificationDispatcher.DueEvent> due = new ArrayList<>(excursions.size());
+                            for (Excursion e : excursions) {
+                                if (today.equals(e.getDate())) {
+                                    AppLog.d(TAG, "startWork: Excursion starting today: {}", e.getTitle());
+                                    due.add(new NotificationDispatcher.DueEvent(NotificationDispatcher.KIND_EXCURSION, e.getId(), e.getTitle(), EXCURSION_DATE));
+                                }
+                            }
+                            NotificationUtility.showReminders(getApplicationContext(), due);
+                            AppLog.d(TAG, "startWork: Work completed successfully");
+                            completer.set(Result.success());
+                        } catch (RuntimeException e) {
+                            // the future must always complete, or WorkManager waits on this worker until it is stopped
+                            AppLog.e(TAG, "startWork: Failed to post excursion reminders", e);
+                            completer.set(Result.failure());
+                        } finally {
+                            Tracing.end();
+                        }
+                    })
+                    .whenComplete((ignored, error) -> Tracing.endAsync(TRACE_WORK, traceCookie));
+            return TRACE_WORK;
         });
+    }
+
 
-        try {
-            latch.await();
-            Log.d(TAG, "doWork: CountDownLatch awaited successfully");
-        } catch (InterruptedException e) {
-            Log.e(TAG, "doWork: Interrupted while awaiting latch", e);
-            return Result.failure();
-        }
-        Log.d(TAG, "doWork: Work completed successfully");
-        return Result.success();
+    // helpers
+    // every excursion on the day, in one query, so same-day reminders post as one batch
+    private CompletableFuture<List<Excursion>> loadExcursions(LocalDate today) {
+        return VacationPlannerRepository.getInstance(getApplicationContext()).getExcursionsOnAsync(today);
     }
 }
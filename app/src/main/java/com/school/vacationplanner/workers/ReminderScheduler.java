@@ -0,0 +1,176 @@
+package com.school.vacationplanner.workers;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.ListenableWorker;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.repo.VacationPlannerRepository;
+import com.school.vacationplanner.util.AppLog;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// one unique, named work request per reminder day and worker, shared by every vacation or excursion due that day,
+// so the worker loads all of the day's rows in one query and posts them as one grouped batch.
+// the repository reports every committed write; a request is added for each new event day, and requests whose rows
+// were moved or deleted are left to run and find nothing. reminders fire at REMINDER_TIME local time on the day
+public class ReminderScheduler implements VacationPlannerRepository.WriteListener {
+
+    // constants
+    public static final String KEY_DATE = "date";
+    static final String TAG_REMINDER = "reminder";
+    static final LocalTime REMINDER_TIME = LocalTime.of(8, 0);
+    private static final String TAG = "ReminderScheduler";
+    private static final String PREFS_NAME = "reminders";
+    private static final String KEY_SCHEDULE_VERSION = "schedule_version";
+    // bump when an update changes how reminders are built, to reschedule everything once
+    // 2: one request per day instead of one per event
+    private static final int SCHEDULE_VERSION = 2;
+
+
+    // variables
+    private final Context context;
+    private final Clock clock;
+
+
+    // constructors
+    public ReminderScheduler(Context context) {
+        this(context, Clock.systemDefaultZone());
+    }
+
+    ReminderScheduler(Context context, Clock clock) {
+        this.context = context.getApplicationContext();
+        this.clock = clock;
+    }
+
+
+    // methods
+    // the one full pass an install needs; after it, the repository's writes keep every reminder current
+    public static void scheduleAllOnce(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        if (prefs.getInt(KEY_SCHEDULE_VERSION, 0) >= SCHEDULE_VERSION) {
+            AppLog.d(TAG, "scheduleAllOnce: Reminders already scheduled");
+            return;
+        }
+        VacationPlannerRepository.getInstance(context).replayWrites(rows -> {
+            if (rows >= 0) {
+                AppLog.d(TAG, "scheduleAllOnce: Scheduled reminders for {} rows", rows);
+                prefs.edit().putInt(KEY_SCHEDULE_VERSION, SCHEDULE_VERSION).apply();
+            }
+        });
+    }
+
+    @Override
+    public void onVacationAdded(Vacation vacation) {
+        scheduleVacation(vacation);
+    }
+
+    @Override
+    public void onVacationUpdated(Vacation vacation) {
+        scheduleVacation(vacation);
+    }
+
+    // the day's request may still serve other rows; it reads the table when it runs, so a deleted row is not shown
+    @Override
+    public void onVacationDeleted(long vacationId) {
+    }
+
+    @Override
+    public void onExcursionAdded(Excursion excursion) {
+        scheduleExcursion(excursion);
+    }
+
+    @Override
+    public void onExcursionUpdated(Excursion excursion) {
+        scheduleExcursion(excursion);
+    }
+
+    @Override
+    public void onExcursionDeleted(long excursionId) {
+    }
+
+    @Override
+    public void onAllDeleted() {
+        AppLog.d(TAG, "onAllDeleted: Cancelling all reminders");
+        WorkManager.getInstance(context).cancelAllWorkByTag(TAG_REMINDER);
+    }
+
+
+    // helpers
+    private void scheduleVacation(Vacation vacation) {
+        scheduleDay(VacationNotificationWorker.class, vacation.getStartDate());
+        scheduleDay(VacationNotificationWorker.class, vacation.getEndDate());
+    }
+
+    private void scheduleExcursion(Excursion excursion) {
+        scheduleDay(ExcursionNotificationWorker.class, excursion.getDate());
+    }
+
+    // KEEP: a pending request for the day already covers this row; past days cost no WorkManager call at all.
+    // KEEP only keeps unfinished work, so once today's request has posted, a write for today must not start another
+    // that would post every reminder of the day again
+    private void scheduleDay(Class<? extends ListenableWorker> worker, LocalDate date) {
+        long delayMillis = delayMillis(date, clock);
+        if (delayMillis < 0) {
+            return;
+        }
+        String name = dayName(worker, date);
+        if (delayMillis == 0 && hasRun(name)) {
+            AppLog.d(TAG, "scheduleDay: {} has already run today", name);
+            return;
+        }
+        AppLog.d(TAG, "scheduleDay: {} in {} ms", name, delayMillis);
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(worker)
+                .setInitialDelay(delayMillis, TimeUnit.MILLISECONDS)
+                .setInputData(new Data.Builder().putLong(KEY_DATE, date.toEpochDay()).build())
+                .addTag(TAG_REMINDER)
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(name, ExistingWorkPolicy.KEEP, request);
+    }
+
+    // runs on the writer lane with the repository's listener calls, so waiting on WorkManager blocks no UI
+    private boolean hasRun(String name) {
+        try {
+            for (WorkInfo info : WorkManager.getInstance(context).getWorkInfosForUniqueWork(name).get()) {
+                if (info.getState() == WorkInfo.State.SUCCEEDED) {
+                    return true;
+                }
+            }
+        } catch (ExecutionException e) {
+            AppLog.e(TAG, "hasRun: Could not read work state for {}", name, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    // -1 once the event day is over or the row is undated; 0 when today's reminder time has already passed
+    static long delayMillis(LocalDate date, Clock clock) {
+        if (date == null) {
+            return -1;
+        }
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        if (date.isBefore(now.toLocalDate())) {
+            return -1;
+        }
+        ZonedDateTime remindAt = date.atTime(REMINDER_TIME).atZone(clock.getZone());
+        return Math.max(0, Duration.between(now, remindAt).toMillis());
+    }
+
+    static String dayName(Class<? extends ListenableWorker> worker, LocalDate date) {
+        return "reminder-" + worker.getSimpleName() + "-" + date;
+    }
+}
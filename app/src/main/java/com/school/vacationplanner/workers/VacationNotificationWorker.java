@@ -1,68 +1,104 @@
 package com.school.vacationplanner.workers;
 
 import android.content.Context;
-import android.util.Log;
 
 import androidx.annotation.NonNull;
-import androidx.work.Worker;
+import androidx.concurrent.futures.CallbackToFutureAdapter;
+import androidx.work.ListenableWorker;
 import androidx.work.WorkerParameters;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.school.vacationplanner.models.Vacation;
 import com.school.vacationplanner.repo.VacationPlannerRepository;
+import com.school.vacationplanner.util.AppLog;
+import com.school.vacationplanner.util.NotificationDispatcher;
 import com.school.vacationplanner.util.NotificationUtility;
+import com.school.vacationplanner.util.Tracing;
 
 import java.time.LocalDate;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
-public class VacationNotificationWorker extends Worker {
+public class VacationNotificationWorker extends ListenableWorker {
 
     // constants
     private static final String TAG = "VacationNotificationWorker";
     private static final String VACATION_START = "Your vacation is starting today!";
     private static final String VACATION_END = "Your vacation is ending today!";
+    private static final long QUERY_TIMEOUT_SECONDS = 30;
+    private static final String TRACE_WORK = "VacationNotificationWorker.startWork";
+    private static final String TRACE_NOTIFY = "VacationNotificationWorker.notify";
 
 
     // constructor
     public VacationNotificationWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
         super(context, workerParams);
-        Log.d(TAG, "VacationNotificationWorker: Worker created");
+        AppLog.d(TAG, "VacationNotificationWorker: Worker created");
     }
 
 
     // override methods
     @NonNull
     @Override
-    public Result doWork() {
-        Log.d(TAG, "doWork: Starting work");
-        LocalDate today = LocalDate.now();
-        Log.d(TAG, "doWork: Today's date is " + today);
+    public ListenableFuture<Result> startWork() {
+        AppLog.d(TAG, "startWork: Starting work");
+        // the reminder's day; a request without one, queued before reminders were per day, checks today
+        long epochDay = getInputData().getLong(ReminderScheduler.KEY_DATE, Long.MIN_VALUE);
+        LocalDate today = epochDay == Long.MIN_VALUE ? LocalDate.now() : LocalDate.ofEpochDay(epochDay);
+        AppLog.d(TAG, "startWork: Reminder date is {}", today);
 
-        CountDownLatch latch = new CountDownLatch(1);
-        Log.d(TAG, "doWork: CountDownLatch initialized");
-
-        VacationPlannerRepository.getInstance(getApplicationContext()).getAllVacations(vacations -> {
-            Log.d(TAG, "doWork: Retrieved vacations: " + vacations.size());
-            for (Vacation v : vacations) {
-                if (v.getStartDate().equals(today)) {
-                    Log.d(TAG, "doWork: Vacation starting today: " + v.getTitle());
-                    NotificationUtility.showVacationNotification(getApplicationContext(), v.getTitle(), VACATION_START);
-                } else if (v.getEndDate().equals(today)) {
-                    Log.d(TAG, "doWork: Vacation ending today: " + v.getTitle());
-                    NotificationUtility.showVacationNotification(getApplicationContext(), v.getTitle(), VACATION_END);
-                }
+        return CallbackToFutureAdapter.getFuture(completer -> {
+            if (today.isBefore(LocalDate.now())) {
+                // ran a day late, e.g. after the device was off, so the reminder's "today" no longer holds
+                AppLog.d(TAG, "startWork: Reminder day has passed, skipping");
+                completer.set(Result.success());
+                return TRACE_WORK;
             }
-            latch.countDown();
-            Log.d(TAG, "doWork: CountDownLatch decremented");
+            // async slice from here until the result is set, spanning the repository hop
+            int traceCookie = Tracing.beginAsync(TRACE_WORK);
+            loadVacations(today)
+                    .orTimeout(QUERY_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .whenComplete((vacations, error) -> {
+                        Tracing.begin(TRACE_NOTIFY);
+                        try {
+                            if (error != null) {
+                                AppLog.e(TAG, "startWork: Failed to load vacations", error);
+                                completer.set(Result.retry());
+                                return;
+                            }
+                            AppLog.d(TAG, "startWork: Retrieved vacations: {}", vacations.size());
+                            List<NotificationDispatcher.DueEvent> due = new ArrayList<>(vacations.size());
+                            for (Vacation v : vacations) {
+                                if (today.equals(v.getStartDate())) {
+                                    AppLog.d(TAG, "startWork: Vacation starting today: {}", v.getTitle());
+                                    due.add(new NotificationDispatcher.DueEvent(NotificationDispatcher.KIND_VACATION_START, v.getId(), v.getTitle(), VACATION_START));
+                                } else if (today.equals(v.getEndDate())) {
+                                    AppLog.d(TAG, "startWork: Vacation ending today: {}", v.getTitle());
+                                    due.add(new NotificationDispatcher.DueEvent(NotificationDispatcher.KIND_VACATION_END, v.getId(), v.getTitle(), VACATION_END));
+                                }
+                            }
+                            NotificationUtility.showReminders(getApplicationContext(), due);
+                            AppLog.d(TAG, "startWork: Work completed successfully");
+                            completer.set(Result.success());
+                        } catch (RuntimeException e) {
+                            // the future must always complete, or WorkManager waits on this worker until it is stopped
+                            AppLog.e(TAG, "startWork: Failed to post vacation reminders", e);
+                            completer.set(Result.failure());
+                        } finally {
+                            Tracing.end();
+                        }
+                    })
+                    .whenComplete((ignored, error) -> Tracing.endAsync(TRACE_WORK, traceCookie));
+            return TRACE_WORK;
         });
+    }
+
 
-        try {
-            latch.await();
-            Log.d(TAG, "doWork: CountDownLatch awaited successfully");
-        } catch (InterruptedException e) {
-            Log.e(TAG, "doWork: Interrupted while awaiting latch", e);
-            return Result.failure();
-        }
-        Log.d(TAG, "doWork: Work completed successfully");
-        return Result.success();
+    // helpers
+    // every vacation starting or ending on the day, in one query, so same-day reminders post as one batch
+    private CompletableFuture<List<Vacation>> loadVacations(LocalDate today) {
+        return VacationPlannerRepository.getInstance(getApplicationContext()).getVacationsStartingOrEndingOnAsync(today);
     }
 }
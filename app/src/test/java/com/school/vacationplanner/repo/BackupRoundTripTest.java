@@ -0,0 +1,121 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+
+// streams 100k rows through the backup format and back; rows are checked as they arrive, never collected
+// RepositoryBackupTest covers the same path through the repository and a real database
+public class BackupRoundTripTest {
+
+    // constants
+    private static final int VACATION_ROWS = 50_000;
+    private static final int EXCURSION_ROWS = 50_000;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip_100kRows() throws IOException {
+        File backup = temporaryFolder.newFile("planner.ndjson");
+
+        try (BackupWriter writer = new BackupWriter(Files.newBufferedWriter(backup.toPath(), StandardCharsets.UTF_8))) {
+            for (int i = 1; i <= VACATION_ROWS; i++) {
+                writer.writeVacation(vacation(i));
+            }
+            for (int i = 1; i <= EXCURSION_ROWS; i++) {
+                writer.writeExcursion(excursion(i));
+            }
+            assertEquals(VACATION_ROWS, writer.getVacationCount());
+            assertEquals(EXCURSION_ROWS, writer.getExcursionCount());
+        }
+
+        int[] counts = new int[2];
+        try (BufferedReader in = Files.newBufferedReader(backup.toPath(), StandardCharsets.UTF_8)) {
+            BackupReader.read(in, new BackupReader.Sink() {
+                @Override
+                public void onVacation(Vacation actual) {
+                    Vacation expected = vacation(++counts[0]);
+                    assertEquals(expected.getId(), actual.getId());
+                    assertEquals(expected.getTitle(), actual.getTitle());
+                    assertEquals(expected.getLodging(), actual.getLodging());
+                    assertEquals(expected.getStartDate(), actual.getStartDate());
+                    assertEquals(expected.getEndDate(), actual.getEndDate());
+                }
+
+                @Override
+                public void onExcursion(Excursion actual) {
+                    Excursion expected = excursion(++counts[1]);
+                    assertEquals(expected.getId(), actual.getId());
+                    assertEquals(expected.getTitle(), actual.getTitle());
+                    assertEquals(expected.getDate(), actual.getDate());
+                    assertEquals(expected.getVacationId(), actual.getVacationId());
+                }
+            });
+        }
+
+        assertEquals(VACATION_ROWS, counts[0]);
+        assertEquals(EXCURSION_ROWS, counts[1]);
+    }
+
+    @Test
+    public void read_keepsNullsAndSkipsUnknownFields() throws IOException {
+        String backup = "{\"version\":1}\n"
+                + "{\"vacation\":{\"id\":3,\"title\":\"Trip\",\"lodging\":null,\"startDate\":null,\"endDate\":\"2025-06-05\",\"rating\":5}}\n"
+                + "{\"note\":\"future record type\"}\n";
+        Vacation[] read = new Vacation[1];
+
+        BackupReader.read(new StringReader(backup), new BackupReader.Sink() {
+            @Override
+            public void onVacation(Vacation vacation) {
+                read[0] = vacation;
+            }
+
+            @Override
+            public void onExcursion(Excursion excursion) {
+            }
+        });
+
+        assertEquals(3, read[0].getId());
+        assertEquals("Trip", read[0].getTitle());
+        assertNull(read[0].getLodging());
+        assertNull(read[0].getStartDate());
+        assertEquals(LocalDate.of(2025, 6, 5), read[0].getEndDate());
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsNewerFormatVersion() throws IOException {
+        BackupReader.read(new StringReader("{\"version\":99}\n"), null);
+    }
+
+
+    // helpers
+    private static Vacation vacation(int id) {
+        LocalDate start = FIRST_DATE.plusDays(id % 2_000);
+        Vacation vacation = new Vacation("Vacation \"" + id + "\"", "Lodging " + id, start, start.plusDays(6));
+        vacation.setId(id);
+        return vacation;
+    }
+
+    private static Excursion excursion(int id) {
+        Excursion excursion = new Excursion("Excursion " + id, (id % VACATION_ROWS) + 1, FIRST_DATE.plusDays(id % 3_000));
+        excursion.setId(id);
+        return excursion;
+    }
+}
@@ -0,0 +1,59 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.school.vacationplanner.models.Excursion;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConvertersTest {
+
+    @Test
+    public void excursionsList_roundTrips() {
+        List<Excursion> excursions = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Excursion excursion = new Excursion("Excursion " + i, 42, LocalDate.of(2025, 7, i));
+            excursion.setId(i);
+            excursions.add(excursion);
+        }
+
+        List<Excursion> decoded = Converters.toExcursionsList(Converters.fromExcursionsList(excursions));
+
+        assertEquals(3, decoded.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(excursions.get(i).getId(), decoded.get(i).getId());
+            assertEquals(excursions.get(i).getTitle(), decoded.get(i).getTitle());
+            assertEquals(excursions.get(i).getDate(), decoded.get(i).getDate());
+            assertEquals(42, decoded.get(i).getVacationId());
+        }
+    }
+
+    @Test
+    public void toExcursionsList_readsGsonReflectiveDates() {
+        String json = "[{\"id\":5,\"title\":\"Museum\",\"date\":{\"year\":2024,\"month\":12,\"day\":31},"
+                + "\"vacationId\":9,\"DATE_FORMAT\":{\"unused\":true}}]";
+
+        List<Excursion> decoded = Converters.toExcursionsList(json);
+
+        assertEquals(1, decoded.size());
+        assertEquals(5, decoded.get(0).getId());
+        assertEquals("Museum", decoded.get(0).getTitle());
+        assertEquals(LocalDate.of(2024, 12, 31), decoded.get(0).getDate());
+        assertEquals(9, decoded.get(0).getVacationId());
+    }
+
+    @Test
+    public void toExcursionsList_handlesNulls() {
+        assertNull(Converters.toExcursionsList(null));
+        assertNull(Converters.toExcursionsList("null"));
+
+        List<Excursion> decoded = Converters.toExcursionsList("[{\"id\":1,\"title\":null,\"date\":null,\"vacationId\":2}]");
+        assertNull(decoded.get(0).getTitle());
+        assertNull(decoded.get(0).getDate());
+    }
+}
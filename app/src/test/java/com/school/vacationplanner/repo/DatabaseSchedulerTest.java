@@ -0,0 +1,90 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Robolectric for android.util.Log and android.os.Trace, which the scheduler calls
+@RunWith(RobolectricTestRunner.class)
+public class DatabaseSchedulerTest {
+
+    // constants
+    private static final int BACKGROUND_LIMIT = 32;
+
+
+    // inner classes
+    // holds tasks until the test runs them, standing in for a busy reader pool
+    private static class PausedExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        boolean rejecting;
+
+        @Override
+        public void execute(Runnable task) {
+            if (rejecting) {
+                throw new RejectedExecutionException("shut down");
+            }
+            tasks.add(task);
+        }
+
+        void runNext() {
+            tasks.remove().run();
+        }
+    }
+
+
+    @Test
+    public void backgroundReads_overTheLimitAreDeferredWithoutBlocking() {
+        PausedExecutor readers = new PausedExecutor();
+        DatabaseScheduler scheduler = new DatabaseScheduler(Runnable::run, readers);
+        AtomicInteger ran = new AtomicInteger();
+
+        // would block the calling thread on the 33rd read if reads waited for a permit
+        for (int i = 0; i < BACKGROUND_LIMIT + 3; i++) {
+            scheduler.read(DatabaseScheduler.Priority.BACKGROUND, "Test.read", ran::incrementAndGet);
+        }
+        assertEquals(BACKGROUND_LIMIT, readers.tasks.size());
+
+        // user reads are never held back
+        scheduler.read("Test.userRead", ran::incrementAndGet);
+        assertEquals(BACKGROUND_LIMIT + 1, readers.tasks.size());
+
+        // each finished background read lets one deferred read into the pool
+        readers.runNext();
+        assertEquals(BACKGROUND_LIMIT + 1, readers.tasks.size());
+        while (!readers.tasks.isEmpty()) {
+            readers.runNext();
+        }
+        assertEquals(BACKGROUND_LIMIT + 4, ran.get());
+    }
+
+    @Test
+    public void rejectedBackgroundRead_returnsItsPermit() {
+        PausedExecutor readers = new PausedExecutor();
+        DatabaseScheduler scheduler = new DatabaseScheduler(Runnable::run, readers);
+
+        readers.rejecting = true;
+        for (int i = 0; i < BACKGROUND_LIMIT; i++) {
+            try {
+                scheduler.read(DatabaseScheduler.Priority.BACKGROUND, "Test.read", () -> { });
+                fail();
+            } catch (RejectedExecutionException expected) {
+                // the permit is released before rethrowing
+            }
+        }
+        readers.rejecting = false;
+
+        for (int i = 0; i < BACKGROUND_LIMIT; i++) {
+            scheduler.read(DatabaseScheduler.Priority.BACKGROUND, "Test.read", () -> { });
+        }
+        assertEquals(BACKGROUND_LIMIT, readers.tasks.size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import android.database.sqlite.SQLiteConstraintException;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.LocalDate;
+
+// the repository relies on SQLite, not Java-side lookups, to reject orphan excursions and keep vacations that still have excursions
+@RunWith(RobolectricTestRunner.class)
+public class ForeignKeyTest {
+
+    // constants
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+
+
+    // variables
+    private VacationPlannerDatabase database;
+    private VacationDao vacationDao;
+    private ExcursionDao excursionDao;
+
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), VacationPlannerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        vacationDao = database.vacationDao();
+        excursionDao = database.excursionDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test(expected = SQLiteConstraintException.class)
+    public void addExcursion_withoutVacation_violatesForeignKey() {
+        excursionDao.addExcursion(new Excursion("Museum", 42, START));
+    }
+
+    @Test
+    public void deleteVacationIfNoExcursions_keepsVacationWithExcursions() {
+        long vacationId = vacationDao.addVacation(new Vacation("Trip", "Hotel", START, START.plusDays(3)));
+        excursionDao.addExcursion(new Excursion("Museum", vacationId, START));
+
+        assertEquals(0, vacationDao.deleteVacationIfNoExcursions(vacationId));
+        assertNotNull(vacationDao.getVacationById(vacationId));
+    }
+
+    @Test
+    public void deleteVacationIfNoExcursions_deletesEmptyVacation() {
+        long vacationId = vacationDao.addVacation(new Vacation("Trip", "Hotel", START, START.plusDays(3)));
+
+        assertEquals(1, vacationDao.deleteVacationIfNoExcursions(vacationId));
+        assertNull(vacationDao.getVacationById(vacationId));
+    }
+}
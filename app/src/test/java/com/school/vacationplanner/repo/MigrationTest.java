@@ -0,0 +1,210 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+
+// builds old databases by hand and opens them through Room with the app's migrations, so every migrated table is
+// checked against the schema Room generates from the entities rather than against a hand-kept schema file
+@RunWith(RobolectricTestRunner.class)
+public class MigrationTest {
+
+    // constants
+    private static final String TEST_DATABASE = "migration_test.db";
+    private static final int VACATION_ROWS = 25_000;
+    private static final int EXCURSION_ROWS = 25_000;
+    private static final long MIGRATION_BUDGET_MILLIS = 10_000;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+
+
+    // variables
+    private Context context;
+    private VacationPlannerDatabase database;
+
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(TEST_DATABASE);
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+        context.deleteDatabase(TEST_DATABASE);
+    }
+
+    @Test
+    public void migrateVersion3_keepsEveryRowAndConvertsDates() {
+        createVersion3Database();
+
+        long start = System.nanoTime();
+        database = Room.databaseBuilder(context, VacationPlannerDatabase.class, TEST_DATABASE)
+                .addMigrations(Migrations.ALL)
+                .allowMainThreadQueries()
+                .build();
+        database.getOpenHelper().getWritableDatabase();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue("Migrating " + (VACATION_ROWS + EXCURSION_ROWS) + " rows took " + elapsedMillis + " ms, budget is "
+                + MIGRATION_BUDGET_MILLIS + " ms", elapsedMillis < MIGRATION_BUDGET_MILLIS);
+
+        assertEquals(VACATION_ROWS, count("Vacation"));
+        assertEquals(EXCURSION_ROWS, count("Excursion"));
+
+        for (int i : new int[]{1, VACATION_ROWS / 2, VACATION_ROWS}) {
+            Vacation vacation = database.vacationDao().getVacationById(i);
+            assertNotNull(vacation);
+            assertEquals("Vacation " + i, vacation.getTitle());
+            assertEquals("Lodging " + i, vacation.getLodging());
+            assertEquals(vacationStart(i), vacation.getStartDate());
+            assertEquals(vacationStart(i).plusDays(6), vacation.getEndDate());
+        }
+
+        LocalDate excursionDate = excursionDate(EXCURSION_ROWS);
+        List<Excursion> excursions = database.excursionDao().getExcursionsOn(excursionDate);
+        assertTrue(excursions.stream().anyMatch(e -> e.getId() == EXCURSION_ROWS));
+        for (Excursion excursion : excursions) {
+            assertEquals(excursionDate, excursion.getDate());
+        }
+
+        // new rows continue after the migrated ids
+        long nextId = database.vacationDao().addVacation(new Vacation("New", "Hotel", FIRST_DATE, FIRST_DATE));
+        assertEquals(VACATION_ROWS + 1, nextId);
+    }
+
+    @Test
+    public void migrateVersion4_passesRoomValidationAndIndexesExistingRows() {
+        createVersion4Database();
+
+        // Room runs MIGRATION_4_5, then fails the open if the FTS tables differ from what it generates for the entities
+        database = Room.databaseBuilder(context, VacationPlannerDatabase.class, TEST_DATABASE)
+                .addMigrations(Migrations.ALL)
+                .allowMainThreadQueries()
+                .build();
+
+        // rows written before the migration are searchable straight away, through both FTS tables
+        List<Vacation> byLodging = database.vacationDao().searchVacations("harbour*", 10);
+        assertEquals(1, byLodging.size());
+        assertEquals("Lisbon", byLodging.get(0).getTitle());
+        List<Vacation> byExcursion = database.vacationDao().searchVacations("tram*", 10);
+        assertEquals(1, byExcursion.size());
+        assertEquals(1, byExcursion.get(0).getId());
+    }
+
+
+    // helpers
+    private SQLiteDatabase createVersion3Tables() {
+        File file = context.getDatabasePath(TEST_DATABASE);
+        file.getParentFile().mkdirs();
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(file, null);
+        db.execSQL("CREATE TABLE IF NOT EXISTS `Vacation` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                + "`title` TEXT, `lodging` TEXT, `start_date` TEXT, `end_date` TEXT)");
+        db.execSQL("CREATE TABLE IF NOT EXISTS `Excursion` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                + "`title` TEXT, `date` TEXT, `vacation_id` INTEGER NOT NULL, "
+                + "FOREIGN KEY(`vacation_id`) REFERENCES `Vacation`(`id`) ON UPDATE NO ACTION ON DELETE RESTRICT )");
+        db.execSQL("CREATE INDEX IF NOT EXISTS `index_Excursion_vacation_id` ON `Excursion` (`vacation_id`)");
+        return db;
+    }
+
+    // a v4 database as an upgraded install has it: v3 rows, then MIGRATION_3_4 outside Room
+    private void createVersion4Database() {
+        SQLiteDatabase v3 = createVersion3Tables();
+        v3.execSQL("INSERT INTO Vacation (id, title, lodging, start_date, end_date) "
+                + "VALUES (1, 'Lisbon', 'Harbour Hotel', '2025-06-01', '2025-06-06')");
+        v3.execSQL("INSERT INTO Excursion (id, title, date, vacation_id) VALUES (1, 'Tram tour', '2025-06-02', 1)");
+        v3.setVersion(3);
+        v3.close();
+
+        SupportSQLiteOpenHelper.Configuration configuration = SupportSQLiteOpenHelper.Configuration.builder(context)
+                .name(TEST_DATABASE)
+                .callback(new SupportSQLiteOpenHelper.Callback(4) {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                    }
+
+                    @Override
+                    public void onUpgrade(@NonNull SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                        Migrations.MIGRATION_3_4.migrate(db);
+                    }
+                })
+                .build();
+        SupportSQLiteOpenHelper v4 = new FrameworkSQLiteOpenHelperFactory().create(configuration);
+        v4.getWritableDatabase();
+        v4.close();
+    }
+
+    private void createVersion3Database() {
+        SQLiteDatabase db = createVersion3Tables();
+
+        db.beginTransaction();
+        try {
+            SQLiteStatement insertVacation = db.compileStatement(
+                    "INSERT INTO Vacation (id, title, lodging, start_date, end_date) VALUES (?, ?, ?, ?, ?)");
+            for (int i = 1; i <= VACATION_ROWS; i++) {
+                insertVacation.bindLong(1, i);
+                insertVacation.bindString(2, "Vacation " + i);
+                insertVacation.bindString(3, "Lodging " + i);
+                insertVacation.bindString(4, vacationStart(i).toString());
+                insertVacation.bindString(5, vacationStart(i).plusDays(6).toString());
+                insertVacation.executeInsert();
+            }
+
+            SQLiteStatement insertExcursion = db.compileStatement(
+                    "INSERT INTO Excursion (id, title, date, vacation_id) VALUES (?, ?, ?, ?)");
+            for (int i = 1; i <= EXCURSION_ROWS; i++) {
+                insertExcursion.bindLong(1, i);
+                insertExcursion.bindString(2, "Excursion " + i);
+                insertExcursion.bindString(3, excursionDate(i).toString());
+                insertExcursion.bindLong(4, (i % VACATION_ROWS) + 1);
+                insertExcursion.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        db.setVersion(3);
+        db.close();
+    }
+
+    private int count(String table) {
+        try (Cursor cursor = database.getOpenHelper().getReadableDatabase().query("SELECT COUNT(*) FROM " + table)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+
+    private static LocalDate vacationStart(int id) {
+        return FIRST_DATE.plusDays(id % 2_000);
+    }
+
+    private static LocalDate excursionDate(int id) {
+        return FIRST_DATE.plusDays(id % 3_000);
+    }
+}
@@ -0,0 +1,113 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// export and import through the repository against a real database: cursor streaming, batch flush order and rollback
+@RunWith(RobolectricTestRunner.class)
+public class RepositoryBackupTest {
+
+    // constants
+    // more than two import batches, so the last vacations sit in a partial batch when the first excursion arrives
+    private static final int VACATION_ROWS = 1_200;
+    private static final int EXCURSION_ROWS = 300;
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+
+
+    // variables
+    private VacationPlannerDatabase database;
+    private VacationPlannerRepository repository;
+
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), VacationPlannerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        // the inline scheduler runs each job, and its callback, before the call returns
+        repository = new VacationPlannerRepository(database, DatabaseScheduler.inline(), VacationPlannerRepository.WriteListener.NONE);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void exportThenImport_restoresEveryRow() {
+        List<Vacation> vacations = new ArrayList<>(VACATION_ROWS);
+        for (int i = 1; i <= VACATION_ROWS; i++) {
+            vacations.add(new Vacation("Vacation " + i, i % 2 == 0 ? null : "Lodging " + i, START.plusDays(i % 90), null));
+        }
+        database.vacationDao().addVacations(vacations);
+        List<Excursion> excursions = new ArrayList<>(EXCURSION_ROWS);
+        for (int i = 1; i <= EXCURSION_ROWS; i++) {
+            // every excursion belongs to a vacation from the last, partial batch
+            excursions.add(new Excursion("Excursion " + i, VACATION_ROWS - (i % 100), START.plusDays(i % 30)));
+        }
+        database.excursionDao().addExcursions(excursions);
+
+        ByteArrayOutputStream backup = new ByteArrayOutputStream();
+        int[] exported = new int[1];
+        repository.exportBackup(backup, rows -> exported[0] = rows);
+        assertEquals(VACATION_ROWS + EXCURSION_ROWS, exported[0]);
+
+        // replaced by the import
+        database.excursionDao().deleteAllExcursions();
+        database.vacationDao().deleteAllVacations();
+        database.vacationDao().addVacation(new Vacation("Stale", "Hotel", START, START));
+
+        int[] imported = new int[1];
+        repository.importBackup(new ByteArrayInputStream(backup.toByteArray()), rows -> imported[0] = rows);
+
+        assertEquals(VACATION_ROWS + EXCURSION_ROWS, imported[0]);
+        assertEquals(VACATION_ROWS, database.vacationDao().getAllVacations().size());
+        assertEquals(EXCURSION_ROWS, database.excursionDao().getAllExcursions().size());
+        Vacation second = database.vacationDao().getVacationById(2);
+        assertEquals("Vacation 2", second.getTitle());
+        assertNull(second.getLodging());
+        assertEquals(START.plusDays(2), second.getStartDate());
+        assertNull(second.getEndDate());
+        Excursion last = database.excursionDao().getExcursionById(EXCURSION_ROWS);
+        assertEquals("Excursion " + EXCURSION_ROWS, last.getTitle());
+        assertEquals(VACATION_ROWS, last.getVacationId());
+    }
+
+    @Test
+    public void importBackup_badFile_keepsExistingRows() {
+        long vacationId = database.vacationDao().addVacation(new Vacation("Current", "Hotel", START, START.plusDays(3)));
+        database.excursionDao().addExcursion(new Excursion("Museum", vacationId, START));
+        // the import has already deleted the current rows when it reaches the broken record
+        String backup = "{\"version\":1}\n"
+                + "{\"vacation\":{\"id\":50,\"title\":\"Restored\",\"lodging\":null,\"startDate\":null,\"endDate\":null}}\n"
+                + "{\"vacation\":{\"id\":51,\"title\":\n";
+
+        int[] imported = new int[1];
+        repository.importBackup(new ByteArrayInputStream(backup.getBytes(StandardCharsets.UTF_8)), rows -> imported[0] = rows);
+
+        assertEquals(-1, imported[0]);
+        assertNotNull(database.vacationDao().getVacationById(vacationId));
+        assertNull(database.vacationDao().getVacationById(50));
+        assertEquals(1, database.excursionDao().getAllExcursions().size());
+    }
+}
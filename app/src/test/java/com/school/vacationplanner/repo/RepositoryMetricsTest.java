@@ -0,0 +1,91 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+// Robolectric for android.util.Log and android.os.Trace, which the repository code calls
+@RunWith(RobolectricTestRunner.class)
+public class RepositoryMetricsTest {
+
+    @Test
+    public void histogram_percentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        assertEquals(1_000, histogram.getCount());
+        assertWithinEighth(TimeUnit.MICROSECONDS.toNanos(500), histogram.getValueAtPercentile(50));
+        assertWithinEighth(TimeUnit.MICROSECONDS.toNanos(990), histogram.getValueAtPercentile(99));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1_000), histogram.getValueAtPercentile(100));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1_000), histogram.getMaxNanos());
+    }
+
+    @Test
+    public void histogram_bucketsAreContiguous() {
+        for (int bucket = 1; bucket < LatencyHistogram.bucketOf(Long.MAX_VALUE); bucket++) {
+            long firstValue = LatencyHistogram.upperBoundOf(bucket - 1) + 1;
+            assertEquals(bucket, LatencyHistogram.bucketOf(firstValue));
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.upperBoundOf(bucket)));
+        }
+    }
+
+    @Test
+    public void time_countsCallsRowsAndErrors() {
+        RepositoryMetrics metrics = new RepositoryMetrics();
+
+        metrics.time("VacationDao.getAllVacations", () -> Arrays.asList("a", "b", "c"));
+        metrics.time("VacationDao.getAllVacations", Collections::emptyList);
+        metrics.time("VacationDao.updateVacation", () -> 1);
+        try {
+            metrics.time("VacationDao.updateVacation", () -> {
+                throw new IllegalStateException("closed");
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+            // recorded and rethrown
+        }
+
+        RepositoryMetrics.Operation reads = metrics.get("VacationDao.getAllVacations");
+        assertEquals(2, reads.getCalls());
+        assertEquals(3, reads.getRows());
+        assertEquals(2, reads.getLatency().getCount());
+        RepositoryMetrics.Operation updates = metrics.get("VacationDao.updateVacation");
+        assertEquals(2, updates.getCalls());
+        assertEquals(1, updates.getErrors());
+        assertEquals(1, updates.getRows());
+        assertNull(metrics.get("VacationDao.getVacationById"));
+    }
+
+    @Test
+    public void queueWait_recordedOncePerSchedulerTask() throws Exception {
+        RepositoryMetrics metrics = new RepositoryMetrics();
+        DatabaseScheduler scheduler = new DatabaseScheduler();
+
+        scheduler.submitRead(DatabaseScheduler.Priority.USER, "Test.read", () -> {
+            metrics.time("VacationDao.getVacationById", () -> 1L);
+            metrics.time("ExcursionDao.getExcursionsForVacation", Collections::emptyList);
+            return null;
+        }).get(1, TimeUnit.SECONDS);
+        // outside a scheduler task there is no queue wait to record
+        metrics.time("VacationDao.getVacationById", () -> 1L);
+
+        assertEquals(2, metrics.get("VacationDao.getVacationById").getCalls());
+        assertEquals(1, metrics.get("VacationDao.getVacationById").getQueueWait().getCount());
+        assertEquals(0, metrics.get("ExcursionDao.getExcursionsForVacation").getQueueWait().getCount());
+    }
+
+    private static void assertWithinEighth(long expected, long actual) {
+        assertTrue(expected + " vs " + actual, Math.abs(actual - expected) <= expected / 8);
+    }
+}
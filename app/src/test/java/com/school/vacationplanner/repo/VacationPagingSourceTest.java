@@ -0,0 +1,151 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.school.vacationplanner.adapters.VacationAdapter;
+import com.school.vacationplanner.models.Vacation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// counts DAO calls per adapter refresh, so a list refresh never costs more than one query
+@RunWith(RobolectricTestRunner.class)
+public class VacationPagingSourceTest {
+
+    // constants
+    private static final int PAGE_SIZE = 30;
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+
+
+    // variables
+    private VacationDao vacationDao;
+    private VacationPagingSource pagingSource;
+    private VacationAdapter adapter;
+
+
+    @Before
+    public void setUp() {
+        vacationDao = mock(VacationDao.class);
+        when(vacationDao.getFirstVacationsPage(anyInt())).thenReturn(vacations(1, PAGE_SIZE));
+        when(vacationDao.getVacationsPageAfter(any(), anyLong(), anyInt())).thenReturn(vacations(PAGE_SIZE + 1, 5));
+        VacationPlannerDatabase database = mock(VacationPlannerDatabase.class);
+        when(database.vacationDao()).thenReturn(vacationDao);
+        when(database.excursionDao()).thenReturn(mock(ExcursionDao.class));
+
+        // the inline scheduler runs each query on this thread; the page is then posted to the main looper
+        VacationPlannerRepository repository = new VacationPlannerRepository(database, DatabaseScheduler.inline(),
+                VacationPlannerRepository.WriteListener.NONE);
+        pagingSource = new VacationPagingSource(repository, PAGE_SIZE);
+        adapter = new VacationAdapter();
+        pagingSource.setOnPageLoadedListener(adapter::setVacations);
+    }
+
+    @Test
+    public void refresh_rendersWithExactlyOneQuery() {
+        pagingSource.refresh();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(PAGE_SIZE, adapter.getItemCount());
+        verify(vacationDao, times(1)).getFirstVacationsPage(PAGE_SIZE);
+        verify(vacationDao, never()).getVacationsPageAfter(any(), anyLong(), anyInt());
+        verify(vacationDao, never()).getAllVacations();
+    }
+
+    @Test
+    public void loadNextPage_whileRefreshing_doesNotQueryAgain() {
+        pagingSource.refresh();
+        pagingSource.loadNextPage();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        verify(vacationDao, times(1)).getFirstVacationsPage(anyInt());
+        verify(vacationDao, never()).getVacationsPageAfter(any(), anyLong(), anyInt());
+        verify(vacationDao, never()).getAllVacations();
+    }
+
+    @Test
+    public void refreshThenScroll_issuesOneQueryPerPage() {
+        pagingSource.refresh();
+        shadowOf(Looper.getMainLooper()).idle();
+        pagingSource.loadNextPage();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        verify(vacationDao, times(1)).getFirstVacationsPage(PAGE_SIZE);
+        verify(vacationDao, times(1)).getVacationsPageAfter(START.plusDays(PAGE_SIZE - 1), PAGE_SIZE, PAGE_SIZE);
+        verify(vacationDao, never()).getAllVacations();
+        assertEquals(PAGE_SIZE + 5, pagingSource.getLoadedVacations().size());
+    }
+
+    @Test
+    public void undatedRows_arePagedOnceEach() {
+        VacationPlannerDatabase database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), VacationPlannerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            // more undated rows than fit on a page, so one page ends on an undated row
+            List<Vacation> rows = new ArrayList<>();
+            for (int i = 0; i < PAGE_SIZE + 5; i++) {
+                rows.add(new Vacation("Undated " + i, "Hotel", null, null));
+            }
+            for (int i = 0; i < 5; i++) {
+                rows.add(new Vacation("Dated " + i, "Hotel", START.plusDays(i), START.plusDays(i + 2)));
+            }
+            database.vacationDao().addVacations(rows);
+            VacationPagingSource source = new VacationPagingSource(new VacationPlannerRepository(database, DatabaseScheduler.inline(),
+                    VacationPlannerRepository.WriteListener.NONE), PAGE_SIZE);
+
+            source.refresh();
+            shadowOf(Looper.getMainLooper()).idle();
+            for (int i = 0; i < 5; i++) {
+                source.loadNextPage();
+                shadowOf(Looper.getMainLooper()).idle();
+            }
+
+            List<Vacation> loaded = source.getLoadedVacations();
+            Set<Long> ids = new HashSet<>();
+            for (Vacation vacation : loaded) {
+                ids.add(vacation.getId());
+            }
+            assertEquals(PAGE_SIZE + 10, loaded.size());
+            assertEquals(loaded.size(), ids.size());
+            assertNull(loaded.get(PAGE_SIZE + 4).getStartDate());
+            assertEquals(START, loaded.get(PAGE_SIZE + 5).getStartDate());
+        } finally {
+            database.close();
+        }
+    }
+
+
+    // helpers
+    private static List<Vacation> vacations(int firstId, int count) {
+        List<Vacation> vacations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Vacation vacation = new Vacation("Trip " + (firstId + i), "Hotel", START.plusDays(firstId + i - 1), START.plusDays(firstId + i + 2));
+            vacation.setId(firstId + i);
+            vacations.add(vacation);
+        }
+        return vacations;
+    }
+}
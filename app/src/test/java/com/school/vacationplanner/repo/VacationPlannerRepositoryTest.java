@@ -0,0 +1,218 @@
+package com.school.vacationplanner.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Robolectric for android.util.Log and android.os.Trace, which the repository code calls
+@RunWith(RobolectricTestRunner.class)
+public class VacationPlannerRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    private VacationDao vacationDao;
+    private ExcursionDao excursionDao;
+    private VacationPlannerRepository repository;
+
+    @Before
+    public void setUp() {
+        vacationDao = mock(VacationDao.class);
+        excursionDao = mock(ExcursionDao.class);
+        VacationPlannerDatabase database = mock(VacationPlannerDatabase.class);
+        when(database.vacationDao()).thenReturn(vacationDao);
+        when(database.excursionDao()).thenReturn(excursionDao);
+        repository = new VacationPlannerRepository(database);
+    }
+
+    @Test
+    public void getExcursionsForVacation_missingVacation_callsBackWithNull() throws Exception {
+        when(vacationDao.getVacationById(anyLong())).thenReturn(null);
+        CountDownLatch called = new CountDownLatch(1);
+        AtomicReference<List<Excursion>> result = new AtomicReference<>(Collections.emptyList());
+
+        repository.getExcursionsForVacation(3, excursions -> {
+            result.set(excursions);
+            called.countDown();
+        });
+
+        assertTrue(called.await(1, TimeUnit.SECONDS));
+        assertNull(result.get());
+        verify(excursionDao, never()).getExcursionsForVacation(anyLong());
+    }
+
+    @Test
+    public void asyncReads_combineWithoutBlockingCallers() throws Exception {
+        Vacation vacation = new Vacation("Trip", "Hotel", TODAY, TODAY.plusDays(3));
+        Excursion excursion = new Excursion("Museum", 1, TODAY);
+        when(vacationDao.getVacationsStartingOrEndingOn(TODAY)).thenReturn(Collections.singletonList(vacation));
+        when(excursionDao.getExcursionsOn(TODAY)).thenReturn(Collections.singletonList(excursion));
+
+        CompletableFuture<Integer> total = repository.getVacationsStartingOrEndingOnAsync(TODAY)
+                .thenCombine(repository.getExcursionsOnAsync(TODAY), (vacations, excursions) -> vacations.size() + excursions.size());
+
+        assertEquals(2, (int) total.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failedRead_completesFutureExceptionallyAndStillCallsBack() throws Exception {
+        when(vacationDao.getVacationById(anyLong())).thenThrow(new IllegalStateException("closed"));
+        CountDownLatch called = new CountDownLatch(1);
+
+        assertTrue(repository.getVacationByIdAsync(1).handle((vacation, error) -> error != null).get(1, TimeUnit.SECONDS));
+        repository.getVacationById(1, vacation -> called.countDown());
+
+        assertTrue(called.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void getVacationById_repeatedLookups_querySQLiteOnce() throws Exception {
+        Vacation stored = new Vacation("Trip", "Hotel", TODAY, TODAY.plusDays(3));
+        stored.setId(4);
+        when(vacationDao.getVacationById(4)).thenReturn(stored);
+
+        Vacation first = repository.getVacationByIdAsync(4).get(1, TimeUnit.SECONDS);
+        Vacation second = repository.getVacationByIdAsync(4).get(1, TimeUnit.SECONDS);
+        second.setTitle("Edited by caller");
+        Vacation third = repository.getVacationByIdAsync(4).get(1, TimeUnit.SECONDS);
+
+        verify(vacationDao, times(1)).getVacationById(4);
+        assertNotSame(first, second);
+        assertEquals("Trip", third.getTitle());
+        assertEquals(2, repository.getVacationCacheHitCount());
+        assertEquals(1, repository.getVacationCacheMissCount());
+    }
+
+    @Test
+    public void writes_keepCacheCoherent() throws Exception {
+        when(vacationDao.addVacation(any())).thenReturn(9L);
+        when(vacationDao.deleteVacationIfNoExcursions(9)).thenReturn(1);
+        Vacation vacation = new Vacation("Trip", "Hotel", TODAY, TODAY.plusDays(3));
+        CountDownLatch added = new CountDownLatch(1);
+        repository.addVacation(vacation, id -> added.countDown());
+        assertTrue(added.await(1, TimeUnit.SECONDS));
+
+        assertEquals("Trip", repository.getVacationByIdAsync(9).get(1, TimeUnit.SECONDS).getTitle());
+        verify(vacationDao, never()).getVacationById(9);
+
+        CountDownLatch deleted = new CountDownLatch(1);
+        repository.deleteVacation(vacation, result -> deleted.countDown());
+        assertTrue(deleted.await(1, TimeUnit.SECONDS));
+
+        assertNull(repository.getVacationByIdAsync(9).get(1, TimeUnit.SECONDS));
+        verify(vacationDao, times(1)).getVacationById(9);
+    }
+
+    @Test
+    public void writes_reachTheWriteListenerOncePerRow() throws Exception {
+        VacationPlannerRepository.WriteListener listener = mock(VacationPlannerRepository.WriteListener.class);
+        VacationPlannerDatabase database = mock(VacationPlannerDatabase.class);
+        when(database.vacationDao()).thenReturn(vacationDao);
+        when(database.excursionDao()).thenReturn(excursionDao);
+        repository = new VacationPlannerRepository(database, DatabaseScheduler.inline(), listener);
+        when(excursionDao.addExcursion(any())).thenReturn(12L);
+        Excursion excursion = new Excursion("Museum", 1, TODAY);
+
+        CountDownLatch added = new CountDownLatch(1);
+        repository.addExcursion(excursion, id -> added.countDown());
+        assertTrue(added.await(1, TimeUnit.SECONDS));
+        CountDownLatch deleted = new CountDownLatch(1);
+        repository.deleteExcursion(excursion, result -> deleted.countDown());
+        assertTrue(deleted.await(1, TimeUnit.SECONDS));
+
+        assertEquals(12, excursion.getId());
+        verify(listener, times(1)).onExcursionAdded(excursion);
+        verify(listener, times(1)).onExcursionDeleted(12);
+    }
+
+    @Test
+    public void editVacations_notifiesOnlyRowsThatStillExist() {
+        VacationPlannerDatabase database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), VacationPlannerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            VacationPlannerRepository.WriteListener listener = mock(VacationPlannerRepository.WriteListener.class);
+            repository = new VacationPlannerRepository(database, DatabaseScheduler.inline(), listener);
+            long id = database.vacationDao().addVacation(new Vacation("Trip", "Hotel", TODAY, TODAY.plusDays(3)));
+            Vacation kept = database.vacationDao().getVacationById(id);
+            kept.setTitle("Renamed");
+            Vacation gone = new Vacation("Gone", "Hotel", TODAY, TODAY);
+            gone.setId(id + 1);
+
+            repository.editVacations(Arrays.asList(kept, gone));
+
+            verify(listener, times(1)).onVacationUpdated(kept);
+            verify(listener, never()).onVacationUpdated(gone);
+            assertEquals("Renamed", repository.getVacationByIdAsync(id).join().getTitle());
+        } finally {
+            database.close();
+        }
+    }
+
+    @Test
+    public void deleteExcursions_notifiesOnlyRowsRemoved() {
+        VacationPlannerDatabase database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), VacationPlannerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        try {
+            VacationPlannerRepository.WriteListener listener = mock(VacationPlannerRepository.WriteListener.class);
+            repository = new VacationPlannerRepository(database, DatabaseScheduler.inline(), listener);
+            long vacationId = database.vacationDao().addVacation(new Vacation("Trip", "Hotel", TODAY, TODAY.plusDays(3)));
+            Excursion kept = new Excursion("Museum", vacationId, TODAY);
+            kept.setId(database.excursionDao().addExcursion(kept));
+            Excursion gone = new Excursion("Gone", vacationId, TODAY);
+            gone.setId(kept.getId() + 1);
+            int[] deleted = new int[1];
+
+            repository.deleteExcursions(Arrays.asList(kept, gone), rows -> deleted[0] = rows);
+
+            assertEquals(1, deleted[0]);
+            verify(listener, times(1)).onExcursionDeleted(kept.getId());
+            verify(listener, never()).onExcursionDeleted(gone.getId());
+        } finally {
+            database.close();
+        }
+    }
+
+    @Test
+    public void toMatchQuery_buildsPrefixTermsAndDropsOperators() {
+        assertEquals("Rome* hot*", VacationPlannerRepository.toMatchQuery("  Rome, hot"));
+        assertEquals("sao* paulo*", VacationPlannerRepository.toMatchQuery("sao \"paulo\" OR"));
+        assertEquals("", VacationPlannerRepository.toMatchQuery("*-\"()"));
+        assertEquals("", VacationPlannerRepository.toMatchQuery(null));
+    }
+
+    @Test
+    public void searchAsync_blankQuery_skipsDatabase() throws Exception {
+        assertTrue(repository.searchAsync("   ").get(1, TimeUnit.SECONDS).isEmpty());
+        verify(vacationDao, never()).searchVacations(any(), anyInt());
+    }
+}
@@ -0,0 +1,90 @@
+package com.school.vacationplanner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AppLogTest {
+
+    private final List<String> lines = new ArrayList<>();
+    private int minPriority;
+    private AppLog.Sink previous;
+
+    @Before
+    public void setUp() {
+        minPriority = 3;
+        previous = AppLog.setSink(new AppLog.Sink() {
+            @Override
+            public boolean isLoggable(int priority) {
+                return priority >= minPriority;
+            }
+
+            @Override
+            public void println(int priority, String tag, String message, Throwable error) {
+                lines.add(priority + "/" + tag + ": " + message + (error != null ? " " + error.getMessage() : ""));
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        AppLog.setSink(previous);
+    }
+
+    @Test
+    public void format_fillsPlaceholdersInOrder() {
+        assertEquals("Retrieved 3 vacations", AppLog.format("Retrieved {} vacations", 1, 3, null, null));
+        assertEquals("a=1 b=null c={}", AppLog.format("a={} b={} c={}", 2, 1, null, null));
+        assertEquals("no placeholders", AppLog.format("no placeholders", 1, "ignored", null, null));
+    }
+
+    @Test
+    public void enabledLevels_reachTheSink() {
+        AppLog.d("Repo", "getVacationsPage: Fetching {} vacations after {}", 20, 7L);
+        AppLog.e("Repo", "exportBackup: Cannot open {}", "content://x", new IllegalStateException("denied"));
+
+        assertEquals("3/Repo: getVacationsPage: Fetching 20 vacations after 7", lines.get(0));
+        assertEquals("6/Repo: exportBackup: Cannot open content://x denied", lines.get(1));
+    }
+
+    @Test
+    public void mixedPrimitiveOverloads_formatLikeObjects() {
+        AppLog.d("Paging", "onPageLoaded: {} vacations loaded, end reached: {}", 40, true);
+        AppLog.d("Search", "searchVacations: Showing {} results for {}", 2, "rome");
+        AppLog.d("Reminders", "schedule: {} in {} ms", "reminder-excursion-3", 60_000L);
+
+        assertEquals("3/Paging: onPageLoaded: 40 vacations loaded, end reached: true", lines.get(0));
+        assertEquals("3/Search: searchVacations: Showing 2 results for rome", lines.get(1));
+        assertEquals("3/Reminders: schedule: reminder-excursion-3 in 60000 ms", lines.get(2));
+    }
+
+    @Test
+    public void disabledLevels_neverFormatArguments() {
+        minPriority = 5;
+        Object neverFormatted = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("formatted a disabled message");
+            }
+        };
+
+        AppLog.d("Adapter", "onBindViewHolder: {}", neverFormatted);
+        AppLog.w("Adapter", "onBindViewHolder: {}", "kept");
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("5/Adapter"));
+    }
+
+    @Test
+    public void setSink_returnsPreviousSink() {
+        AppLog.Sink current = AppLog.setSink(previous);
+        assertSame(previous, AppLog.setSink(current));
+    }
+}
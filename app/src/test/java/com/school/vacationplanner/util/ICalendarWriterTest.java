@@ -0,0 +1,93 @@
+package com.school.vacationplanner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+public class ICalendarWriterTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-05-01T10:15:30Z"), ZoneOffset.UTC);
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+
+    @Test
+    public void writesVacationAndExcursionEvents() throws IOException {
+        Vacation vacation = new Vacation("Rome", "Hotel Roma, Via Veneto", START, START.plusDays(4));
+        vacation.setId(3);
+        Excursion excursion = new Excursion("Vatican; museums", 3, START.plusDays(2));
+        excursion.setId(8);
+
+        StringWriter out = new StringWriter();
+        try (ICalendarWriter writer = new ICalendarWriter(out, CLOCK)) {
+            writer.writeVacation(vacation);
+            writer.writeExcursion(excursion);
+            assertEquals(2, writer.getEventCount());
+        }
+
+        assertEquals("BEGIN:VCALENDAR\r\n"
+                + "VERSION:2.0\r\n"
+                + "PRODID:-//Vacation Planner//EN\r\n"
+                + "CALSCALE:GREGORIAN\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "UID:vacation-3@vacationplanner\r\n"
+                + "DTSTAMP:20250501T101530Z\r\n"
+                + "DTSTART;VALUE=DATE:20250601\r\n"
+                + "DTEND;VALUE=DATE:20250606\r\n"
+                + "SUMMARY:Rome\r\n"
+                + "LOCATION:Hotel Roma\\, Via Veneto\r\n"
+                + "END:VEVENT\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "UID:excursion-8@vacationplanner\r\n"
+                + "DTSTAMP:20250501T101530Z\r\n"
+                + "DTSTART;VALUE=DATE:20250603\r\n"
+                + "DTEND;VALUE=DATE:20250604\r\n"
+                + "SUMMARY:Vatican\\; museums\r\n"
+                + "END:VEVENT\r\n"
+                + "END:VCALENDAR\r\n", out.toString());
+    }
+
+    @Test
+    public void foldsLinesAtSeventyFiveOctets() throws IOException {
+        // two-byte characters, so a char-based fold would overrun the octet limit
+        String title = "Zürich über Lützelflüh " + "é".repeat(100);
+        Vacation vacation = new Vacation(title, null, START, START);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ICalendarWriter writer = ICalendarWriter.open(bytes, CLOCK)) {
+            writer.writeVacation(vacation);
+        }
+        String ics = bytes.toString(StandardCharsets.UTF_8);
+
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line, line.getBytes(StandardCharsets.UTF_8).length <= 75);
+        }
+        assertTrue(ics.replace("\r\n ", "").contains("SUMMARY:" + title + "\r\n"));
+        assertFalse(ics.contains("LOCATION:"));
+    }
+
+    @Test
+    public void skipsUndatedRowsAndEscapesNewlines() throws IOException {
+        StringWriter out = new StringWriter();
+        try (ICalendarWriter writer = new ICalendarWriter(out, CLOCK)) {
+            writer.writeExcursion(new Excursion("No date", 1, null));
+            writer.writeExcursion(new Excursion("Line one\nLine two\\", 1, START));
+            assertEquals(1, writer.getEventCount());
+        }
+
+        assertTrue(out.toString().contains("SUMMARY:Line one\\nLine two\\\\\r\n"));
+        assertFalse(out.toString().contains("No date"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.school.vacationplanner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.core.app.NotificationCompat;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class NotificationDispatcherTest {
+
+    // variables
+    private FakeManager manager;
+    private MutableClock clock;
+    private NotificationDispatcher dispatcher;
+
+
+    // inner classes
+    private static class Posted {
+        final String tag;
+        final int id;
+        final Notification notification;
+
+        Posted(String tag, int id, Notification notification) {
+            this.tag = tag;
+            this.id = id;
+            this.notification = notification;
+        }
+    }
+
+    private static class FakeManager implements NotificationDispatcher.Manager {
+        final List<NotificationChannel> channels = new ArrayList<>();
+        final List<Posted> posted = new ArrayList<>();
+
+        @Override
+        public void createNotificationChannel(NotificationChannel channel) {
+            channels.add(channel);
+        }
+
+        @Override
+        public void notify(String tag, int id, Notification notification) {
+            posted.add(new Posted(tag, id, notification));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        Instant now = Instant.parse("2025-06-01T08:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+
+    @Before
+    public void setUp() {
+        manager = new FakeManager();
+        clock = new MutableClock();
+        dispatcher = new NotificationDispatcher(ApplicationProvider.getApplicationContext(), manager, clock,
+                new Handler(Looper.getMainLooper()));
+    }
+
+    @Test
+    public void singleEvent_postsOnceWithoutSummary() {
+        dispatcher.dispatch(Collections.singletonList(vacationStart(7, "Rome")));
+
+        assertEquals(1, manager.channels.size());
+        assertEquals(1, manager.posted.size());
+        Posted posted = manager.posted.get(0);
+        assertEquals(NotificationDispatcher.KIND_VACATION_START, posted.tag);
+        assertEquals(7, posted.id);
+        assertEquals(NotificationDispatcher.GROUP_KEY, NotificationCompat.getGroup(posted.notification));
+    }
+
+    @Test
+    public void sameDayEvents_getTheirOwnIdsUnderOneSummary() {
+        dispatcher.dispatch(Arrays.asList(vacationStart(7, "Rome"),
+                new NotificationDispatcher.DueEvent(NotificationDispatcher.KIND_EXCURSION, 7, "Colosseum", "Excursion today")));
+        dispatcher.dispatch(Collections.singletonList(
+                new NotificationDispatcher.DueEvent(NotificationDispatcher.KIND_VACATION_END, 3, "Lisbon", "Ending today")));
+
+        // channel creation is paid once, not per post
+        assertEquals(1, manager.channels.size());
+        assertEquals(5, manager.posted.size());
+        assertEquals(NotificationDispatcher.KIND_EXCURSION, manager.posted.get(1).tag);
+        Posted summary = manager.posted.get(4);
+        assertNull(summary.tag);
+        assertEquals(NotificationDispatcher.SUMMARY_ID, summary.id);
+        assertTrue(NotificationCompat.isGroupSummary(summary.notification));
+        assertEquals("3 reminders today", NotificationCompat.getContentText(summary.notification).toString());
+    }
+
+    @Test
+    public void burst_foldsOverflowIntoSummary() {
+        List<NotificationDispatcher.DueEvent> events = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            events.add(vacationStart(i, "Trip " + i));
+        }
+
+        int posted = dispatcher.dispatch(events);
+
+        assertEquals(NotificationDispatcher.MAX_POSTS_PER_SECOND - 1, posted);
+        assertEquals(NotificationDispatcher.MAX_POSTS_PER_SECOND, manager.posted.size());
+        Notification summary = manager.posted.get(manager.posted.size() - 1).notification;
+        assertTrue(NotificationCompat.isGroupSummary(summary));
+        assertEquals("12 reminders today", NotificationCompat.getContentText(summary).toString());
+    }
+
+    @Test
+    public void nextWindow_postsAgain() {
+        List<NotificationDispatcher.DueEvent> events = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            events.add(vacationStart(i, "Trip " + i));
+        }
+        dispatcher.dispatch(events);
+
+        clock.now = clock.now.plusSeconds(1);
+        int posted = dispatcher.dispatch(Collections.singletonList(vacationStart(20, "Oslo")));
+
+        assertEquals(1, posted);
+    }
+
+    @Test
+    public void backToBackDispatches_deferTheSummaryToTheNextWindow() {
+        List<NotificationDispatcher.DueEvent> events = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            events.add(vacationStart(i, "Trip " + i));
+        }
+        dispatcher.dispatch(events);
+        assertEquals(NotificationDispatcher.MAX_POSTS_PER_SECOND, manager.posted.size());
+
+        // same window: the event is folded and the summary has no permit left
+        int posted = dispatcher.dispatch(Collections.singletonList(vacationStart(20, "Oslo")));
+        assertEquals(0, posted);
+        assertEquals(NotificationDispatcher.MAX_POSTS_PER_SECOND, manager.posted.size());
+
+        clock.now = clock.now.plusSeconds(1);
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1));
+
+        assertEquals(NotificationDispatcher.MAX_POSTS_PER_SECOND + 1, manager.posted.size());
+        Notification summary = manager.posted.get(manager.posted.size() - 1).notification;
+        assertTrue(NotificationCompat.isGroupSummary(summary));
+        assertEquals("7 reminders today", NotificationCompat.getContentText(summary).toString());
+    }
+
+    @Test
+    public void newDay_startsAFreshGroup() {
+        dispatcher.dispatch(Collections.singletonList(vacationStart(7, "Rome")));
+        clock.now = clock.now.plusSeconds(24 * 60 * 60);
+
+        dispatcher.dispatch(Collections.singletonList(vacationStart(8, "Oslo")));
+
+        assertEquals(2, manager.posted.size());
+        assertFalse(NotificationCompat.isGroupSummary(manager.posted.get(1).notification));
+    }
+
+
+    // helpers
+    private static NotificationDispatcher.DueEvent vacationStart(long id, String title) {
+        return new NotificationDispatcher.DueEvent(NotificationDispatcher.KIND_VACATION_START, id, title, "Starting today");
+    }
+}
@@ -0,0 +1,95 @@
+package com.school.vacationplanner.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.models.VacationWithExcursions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class SharePayloadGeneratorTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+
+    private SharePayloadGenerator generator;
+    private VacationWithExcursions details;
+
+    @Before
+    public void setUp() {
+        generator = new SharePayloadGenerator(8, Clock.fixed(Instant.parse("2025-05-01T10:15:30Z"), ZoneOffset.UTC));
+
+        Vacation vacation = new Vacation("Rome & Florence", "Hotel <Roma>", START, START.plusDays(4));
+        vacation.setId(7);
+        Excursion excursion = new Excursion("Colosseum, guided; 3h", 7, START.plusDays(1));
+        excursion.setId(11);
+        details = new VacationWithExcursions();
+        details.setVacation(vacation);
+        details.setExcursions(new ArrayList<>(Collections.singletonList(excursion)));
+    }
+
+    @Test
+    public void generate_buildsAllVariants() {
+        SharePayloadGenerator.SharePayload payload = generator.generate(details, generator.stamp());
+
+        assertEquals("Vacation Details:\nTitle: Rome & Florence\nLodging: Hotel <Roma>\nStart Date: 2025-06-01\n"
+                + "End Date: 2025-06-05\nExcursions:\n- Colosseum, guided; 3h: 2025-06-02\n", payload.getText());
+        assertTrue(payload.getHtml().startsWith("<h2>Rome &amp; Florence</h2><p><b>Lodging:</b> Hotel &lt;Roma&gt;"));
+        assertTrue(payload.getICalendar().contains("BEGIN:VEVENT\r\nUID:vacation-7@vacationplanner\r\nDTSTAMP:20250501T101530Z\r\n"
+                + "DTSTART;VALUE=DATE:20250601\r\nDTEND;VALUE=DATE:20250606\r\n"));
+        assertTrue(payload.getICalendar().contains("SUMMARY:Colosseum\\, guided\\; 3h\r\n"));
+        assertTrue(payload.getICalendar().endsWith("END:VCALENDAR\r\n"));
+    }
+
+    @Test
+    public void generate_emptyExcursions_matchesPreviousShareText() {
+        details.setExcursions(new ArrayList<>());
+
+        String text = generator.generate(details, generator.stamp()).getText();
+
+        assertTrue(text.endsWith("End Date: 2025-06-05\nNo excursions scheduled for this vacation.\n"));
+    }
+
+    @Test
+    public void cache_servesRepeatsUntilInvalidated() {
+        SharePayloadGenerator.SharePayload payload = generator.generate(details, generator.stamp());
+
+        assertSame(payload, generator.getCached(7));
+        generator.invalidate(7);
+        assertNull(generator.getCached(7));
+    }
+
+    @Test
+    public void generate_afterConcurrentWrite_isNotCached() {
+        long stamp = generator.stamp();
+        generator.invalidate(7);
+
+        generator.generate(details, stamp);
+
+        assertNull(generator.getCached(7));
+    }
+
+    @Test
+    public void iCalendar_foldsLongLines() {
+        String title = String.join("", Collections.nCopies(20, "Lisbon "));
+        details.getVacation().setTitle(title);
+
+        String ics = generator.generate(details, generator.stamp()).getICalendar();
+
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line, line.length() <= 75);
+        }
+        assertTrue(ics.replace("\r\n ", "").contains("SUMMARY:" + title + "\r\n"));
+    }
+}
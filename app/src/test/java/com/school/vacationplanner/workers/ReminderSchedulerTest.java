@@ -0,0 +1,162 @@
+package com.school.vacationplanner.workers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReminderSchedulerTest {
+
+    // constants
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-01T10:00:00Z"), ZoneOffset.UTC);
+
+
+    // variables
+    private WorkManager workManager;
+    private ReminderScheduler reminders;
+
+
+    // inner classes
+    // stands in for a day's reminder pass that has already posted
+    public static class DoneWorker extends Worker {
+        public DoneWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+            super(context, params);
+        }
+
+        @NonNull
+        @Override
+        public Result doWork() {
+            return Result.success();
+        }
+    }
+
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context);
+        workManager = WorkManager.getInstance(context);
+        reminders = new ReminderScheduler(context, CLOCK);
+    }
+
+    @Test
+    public void delayMillis_firesAtReminderTimeOnTheDay() {
+        assertEquals(TimeUnit.HOURS.toMillis(22), ReminderScheduler.delayMillis(TODAY.plusDays(1), CLOCK));
+        assertEquals(0, ReminderScheduler.delayMillis(TODAY, CLOCK));
+        assertEquals(-1, ReminderScheduler.delayMillis(TODAY.minusDays(1), CLOCK));
+        assertEquals(-1, ReminderScheduler.delayMillis(null, CLOCK));
+    }
+
+    @Test
+    public void sameDayEvents_shareOneRequest() throws Exception {
+        LocalDate day = TODAY.plusDays(3);
+
+        reminders.onVacationAdded(vacation(7, day, TODAY.plusDays(5)));
+        reminders.onVacationAdded(vacation(8, TODAY.plusDays(1), day));
+        reminders.onVacationUpdated(vacation(7, day, TODAY.plusDays(6)));
+
+        assertEquals(1, countEnqueued(ReminderScheduler.dayName(VacationNotificationWorker.class, day)));
+        // a moved end date adds its new day; the old day's request finds nothing when it runs
+        assertEquals(1, countEnqueued(ReminderScheduler.dayName(VacationNotificationWorker.class, TODAY.plusDays(6))));
+        assertEquals(1, countEnqueued(ReminderScheduler.dayName(VacationNotificationWorker.class, TODAY.plusDays(5))));
+    }
+
+    @Test
+    public void pastEvents_areNotScheduled() throws Exception {
+        reminders.onVacationAdded(vacation(8, TODAY.minusDays(5), TODAY.plusDays(1)));
+
+        assertTrue(workManager.getWorkInfosForUniqueWork(
+                ReminderScheduler.dayName(VacationNotificationWorker.class, TODAY.minusDays(5))).get().isEmpty());
+        assertEquals(1, countEnqueued(ReminderScheduler.dayName(VacationNotificationWorker.class, TODAY.plusDays(1))));
+    }
+
+    @Test
+    public void excursionsAndVacations_useSeparateDayRequests() throws Exception {
+        LocalDate day = TODAY.plusDays(2);
+        Excursion museum = new Excursion("Museum", 7, day);
+        museum.setId(11);
+        Excursion tour = new Excursion("Tour", 7, day);
+        tour.setId(12);
+
+        reminders.onExcursionAdded(museum);
+        reminders.onExcursionAdded(tour);
+        reminders.onVacationAdded(vacation(7, day, TODAY.plusDays(4)));
+
+        assertEquals(1, countEnqueued(ReminderScheduler.dayName(ExcursionNotificationWorker.class, day)));
+        assertEquals(1, countEnqueued(ReminderScheduler.dayName(VacationNotificationWorker.class, day)));
+    }
+
+    @Test
+    public void writesForToday_afterTodaysRequestRan_doNotPostAgain() throws Exception {
+        String name = ReminderScheduler.dayName(ExcursionNotificationWorker.class, TODAY);
+        // the test WorkManager runs undelayed work as it is enqueued
+        workManager.enqueueUniqueWork(name, ExistingWorkPolicy.KEEP, OneTimeWorkRequest.from(DoneWorker.class)).getResult().get();
+        Excursion museum = new Excursion("Museum", 7, TODAY);
+        museum.setId(11);
+
+        reminders.onExcursionAdded(museum);
+        reminders.onExcursionUpdated(museum);
+
+        List<WorkInfo> infos = workManager.getWorkInfosForUniqueWork(name).get();
+        assertEquals(1, infos.size());
+        assertEquals(WorkInfo.State.SUCCEEDED, infos.get(0).getState());
+    }
+
+    @Test
+    public void onAllDeleted_cancelsEveryReminder() throws Exception {
+        reminders.onVacationAdded(vacation(7, TODAY.plusDays(3), TODAY.plusDays(5)));
+        reminders.onVacationAdded(vacation(9, TODAY.plusDays(8), TODAY.plusDays(9)));
+
+        reminders.onAllDeleted();
+
+        for (WorkInfo info : workManager.getWorkInfosByTag(ReminderScheduler.TAG_REMINDER).get()) {
+            assertEquals(WorkInfo.State.CANCELLED, info.getState());
+        }
+    }
+
+
+    // helpers
+    private static Vacation vacation(long id, LocalDate start, LocalDate end) {
+        Vacation vacation = new Vacation("Trip", "Hotel", start, end);
+        vacation.setId(id);
+        return vacation;
+    }
+
+    private int countEnqueued(String name) throws Exception {
+        List<WorkInfo> infos = workManager.getWorkInfosForUniqueWork(name).get();
+        int enqueued = 0;
+        for (WorkInfo info : infos) {
+            if (info.getState() == WorkInfo.State.ENQUEUED) {
+                enqueued++;
+            }
+        }
+        return enqueued;
+    }
+}
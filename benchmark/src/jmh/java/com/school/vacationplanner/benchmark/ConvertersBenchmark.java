@@ -0,0 +1,121 @@
+package com.school.vacationplanner.benchmark;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.repo.Converters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Room type converters: the epoch-day pair runs for every date column of every row Room hydrates,
+// the JSON pair for every excursion list that is read or written. toExcursionsListLegacyGson is the decode path the
+// streaming codec replaced, a new Gson and TypeToken per call; a desktop JVM cannot reflect into java.time, so it gets
+// a plain LocalDate adapter and skips the formatter field, and still binds every other field reflectively
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConvertersBenchmark {
+
+    // variables
+    @Param({"10", "100", "1000", "10000"})
+    public int excursionCount;
+
+    private LocalDate date;
+    private Long epochDay;
+    private List<Excursion> excursions;
+    private String excursionsJson;
+
+
+    // inner classes
+    private static class LegacyLocalDateAdapter extends TypeAdapter<LocalDate> {
+        @Override
+        public void write(JsonWriter out, LocalDate value) throws IOException {
+            out.value(value != null ? value.toString() : null);
+        }
+
+        @Override
+        public LocalDate read(JsonReader in) throws IOException {
+            return LocalDate.parse(in.nextString());
+        }
+    }
+
+    private static class SkipFormatterStrategy implements ExclusionStrategy {
+        @Override
+        public boolean shouldSkipField(FieldAttributes f) {
+            return f.getDeclaredClass() == DateTimeFormatter.class;
+        }
+
+        @Override
+        public boolean shouldSkipClass(Class<?> clazz) {
+            return false;
+        }
+    }
+
+
+    // setup
+    @Setup
+    public void setUp() {
+        date = LocalDate.of(2025, 6, 1);
+        epochDay = date.toEpochDay();
+        excursions = new ArrayList<>(excursionCount);
+        for (int i = 0; i < excursionCount; i++) {
+            Excursion excursion = new Excursion("Excursion " + i, 1, date.plusDays(i % 14));
+            excursion.setId(i + 1);
+            excursions.add(excursion);
+        }
+        excursionsJson = Converters.fromExcursionsList(excursions);
+    }
+
+
+    // benchmarks
+    @Benchmark
+    public LocalDate fromEpochDay() {
+        return Converters.fromEpochDay(epochDay);
+    }
+
+    @Benchmark
+    public Long toEpochDay() {
+        return Converters.toEpochDay(date);
+    }
+
+    @Benchmark
+    public List<Excursion> toExcursionsList() {
+        return Converters.toExcursionsList(excursionsJson);
+    }
+
+    @Benchmark
+    public List<Excursion> toExcursionsListLegacyGson() {
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDate.class, new LegacyLocalDateAdapter())
+                .setExclusionStrategies(new SkipFormatterStrategy())
+                .create();
+        Type listType = new TypeToken<List<Excursion>>(){}.getType();
+        return gson.fromJson(excursionsJson, listType);
+    }
+
+    @Benchmark
+    public String fromExcursionsList() {
+        return Converters.fromExcursionsList(excursions);
+    }
+}
@@ -0,0 +1,56 @@
+package com.school.vacationplanner.benchmark;
+
+import com.school.vacationplanner.util.DateValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// the checks the vacation and excursion dialogs run before saving; the inline variant is the
+// pattern-per-call check the dialogs used before DateValidator, kept as a baseline
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateValidatorBenchmark {
+
+    // variables
+    public String validDate = "2025-06-01";
+    public String invalidDate = "2025-6-1";
+    public LocalDate start = LocalDate.of(2025, 6, 1);
+    public LocalDate end = LocalDate.of(2025, 6, 14);
+    public LocalDate date = LocalDate.of(2025, 6, 7);
+
+
+    // benchmarks
+    @Benchmark
+    public boolean isValidDateFormat() {
+        return DateValidator.isValidDateFormat(validDate);
+    }
+
+    @Benchmark
+    public boolean isValidDateFormat_invalid() {
+        return DateValidator.isValidDateFormat(invalidDate);
+    }
+
+    @Benchmark
+    public boolean isValidDateFormat_inlinePattern() {
+        return Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$").matcher(validDate).matches();
+    }
+
+    @Benchmark
+    public LocalDate parse() {
+        return DateValidator.parse(validDate);
+    }
+
+    @Benchmark
+    public boolean isWithin() {
+        return DateValidator.isWithin(date, start, end);
+    }
+}
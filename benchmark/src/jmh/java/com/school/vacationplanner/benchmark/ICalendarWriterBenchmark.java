@@ -0,0 +1,98 @@
+package com.school.vacationplanner.benchmark;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.util.ICalendarWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// the streaming calendar export into a byte-counting sink, so disk speed does not skew the numbers;
+// each vacation carries three excursions, matching a typical trip
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ICalendarWriterBenchmark {
+
+    // constants
+    private static final int EXCURSIONS_PER_VACATION = 3;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 1);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+
+    // variables
+    @Param({"100", "1000", "10000"})
+    public int vacationCount;
+
+    private List<Vacation> vacations;
+    private List<Excursion> excursions;
+
+
+    // inner classes
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+
+    // setup
+    @Setup
+    public void setUp() {
+        vacations = new ArrayList<>(vacationCount);
+        excursions = new ArrayList<>(vacationCount * EXCURSIONS_PER_VACATION);
+        for (int i = 1; i <= vacationCount; i++) {
+            LocalDate start = FIRST_DATE.plusDays(i % 365);
+            Vacation vacation = new Vacation("Vacation number " + i + ", with friends", "Hotel " + i, start, start.plusDays(6));
+            vacation.setId(i);
+            vacations.add(vacation);
+            for (int j = 0; j < EXCURSIONS_PER_VACATION; j++) {
+                Excursion excursion = new Excursion("Excursion " + j + " of vacation " + i, i, start.plusDays(j));
+                excursion.setId((long) i * EXCURSIONS_PER_VACATION + j);
+                excursions.add(excursion);
+            }
+        }
+    }
+
+
+    // benchmarks
+    // bytes written, so the export cannot be optimised away
+    @Benchmark
+    public long export() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (ICalendarWriter writer = ICalendarWriter.open(out, CLOCK)) {
+            for (Vacation vacation : vacations) {
+                writer.writeVacation(vacation);
+            }
+            for (Excursion excursion : excursions) {
+                writer.writeExcursion(excursion);
+            }
+            writer.finish();
+        }
+        return out.count;
+    }
+}
@@ -0,0 +1,54 @@
+package com.school.vacationplanner.benchmark;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// date formatting the list adapters do on every bind
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelFormattingBenchmark {
+
+    // variables
+    private Vacation vacation;
+    private Vacation undatedVacation;
+    private Excursion excursion;
+
+
+    // setup
+    @Setup
+    public void setUp() {
+        LocalDate start = LocalDate.of(2025, 6, 1);
+        vacation = new Vacation("Rome", "Hotel Roma", start, start.plusDays(6));
+        undatedVacation = new Vacation("Someday", "Tent", null, null);
+        excursion = new Excursion("Colosseum", 1, start.plusDays(2));
+    }
+
+
+    // benchmarks
+    @Benchmark
+    public String vacationStartDateFormatted() {
+        return vacation.getStartDateFormatted();
+    }
+
+    @Benchmark
+    public String vacationStartDateNotSet() {
+        return undatedVacation.getStartDateFormatted();
+    }
+
+    @Benchmark
+    public String excursionDateFormatted() {
+        return excursion.getDateFormatted();
+    }
+}
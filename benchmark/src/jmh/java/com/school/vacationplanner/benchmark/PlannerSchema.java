@@ -0,0 +1,103 @@
+package com.school.vacationplanner.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// the v5 schema and DAO statements, copied from the Room entities, Migrations and the DAOs so the queries
+// can be timed on a desktop SQLite; keep in step with those files when the schema changes
+final class PlannerSchema {
+
+    // constants
+    // DAO statements, with Room's :named parameters as positional ones
+    static final String GET_VACATION_BY_ID = "SELECT * FROM Vacation WHERE id = ?";
+    static final String GET_EXCURSIONS_ON = "SELECT * FROM Excursion WHERE date = ?";
+    static final String GET_EXCURSIONS_FOR_VACATION = "SELECT * FROM Excursion WHERE vacation_id = ? ORDER BY id";
+    static final String GET_VACATIONS_PAGE_AFTER = "SELECT * FROM Vacation WHERE start_date > ? OR (start_date = ? AND id > ?) "
+            + "ORDER BY start_date, id LIMIT ?";
+    static final String SEARCH_VACATIONS = "SELECT * FROM Vacation WHERE id IN ("
+            + "SELECT rowid FROM VacationFts WHERE VacationFts MATCH ? "
+            + "UNION SELECT vacation_id FROM Excursion WHERE id IN (SELECT rowid FROM ExcursionFts WHERE ExcursionFts MATCH ?)"
+            + ") ORDER BY start_date, id LIMIT ?";
+    static final String INSERT_VACATION = "INSERT INTO Vacation (title, lodging, start_date, end_date) VALUES (?, ?, ?, ?)";
+    static final String INSERT_EXCURSION = "INSERT INTO Excursion (title, date, vacation_id) VALUES (?, ?, ?)";
+    static final String DELETE_EXCURSION = "DELETE FROM Excursion WHERE id = ?";
+
+
+    // constructor
+    private PlannerSchema() {
+    }
+
+
+    // methods
+    static Connection openInMemory() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA foreign_keys = ON");
+            statement.execute("CREATE TABLE `Vacation` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`title` TEXT, `lodging` TEXT, `start_date` INTEGER, `end_date` INTEGER)");
+            statement.execute("CREATE TABLE `Excursion` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`title` TEXT, `date` INTEGER, `vacation_id` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`vacation_id`) REFERENCES `Vacation`(`id`) ON UPDATE NO ACTION ON DELETE RESTRICT )");
+            statement.execute("CREATE INDEX `index_Vacation_start_date` ON `Vacation` (`start_date`)");
+            statement.execute("CREATE INDEX `index_Vacation_end_date` ON `Vacation` (`end_date`)");
+            statement.execute("CREATE INDEX `index_Excursion_vacation_id` ON `Excursion` (`vacation_id`)");
+            statement.execute("CREATE INDEX `index_Excursion_date` ON `Excursion` (`date`)");
+            createFtsTable(statement, "VacationFts", "Vacation", "title", "lodging");
+            createFtsTable(statement, "ExcursionFts", "Excursion", "title");
+        }
+        return connection;
+    }
+
+    // vacation i starts i % 365 days after startEpochDay and has excursionsPerVacation excursions
+    static void populate(Connection connection, int vacations, int excursionsPerVacation, long startEpochDay) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement vacation = connection.prepareStatement(INSERT_VACATION);
+             PreparedStatement excursion = connection.prepareStatement(INSERT_EXCURSION)) {
+            for (int i = 1; i <= vacations; i++) {
+                long start = startEpochDay + i % 365;
+                vacation.setString(1, "Vacation " + i + (i % 10 == 0 ? " Lisbon" : ""));
+                vacation.setString(2, "Hotel " + i);
+                vacation.setLong(3, start);
+                vacation.setLong(4, start + 6);
+                vacation.executeUpdate();
+                for (int j = 0; j < excursionsPerVacation; j++) {
+                    excursion.setString(1, "Excursion " + i + "-" + j + (j == 0 && i % 25 == 0 ? " Lisbon walk" : ""));
+                    excursion.setLong(2, start + j % 7);
+                    excursion.setLong(3, i);
+                    excursion.addBatch();
+                }
+                excursion.executeBatch();
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+
+    // helpers
+    // same DDL as Migrations.createFtsTable
+    private static void createFtsTable(Statement statement, String ftsTable, String contentTable, String... columns) throws SQLException {
+        StringBuilder definitions = new StringBuilder();
+        StringBuilder names = new StringBuilder();
+        StringBuilder newValues = new StringBuilder();
+        for (String column : columns) {
+            definitions.append('`').append(column).append("` TEXT, ");
+            names.append(", `").append(column).append('`');
+            newValues.append(", NEW.`").append(column).append('`');
+        }
+        statement.execute("CREATE VIRTUAL TABLE `" + ftsTable + "` USING FTS4(" + definitions + "content=`" + contentTable + "`)");
+
+        String triggerPrefix = "room_fts_content_sync_" + ftsTable + "_";
+        String deleteOld = " BEGIN DELETE FROM `" + ftsTable + "` WHERE `docid`=OLD.`rowid`; END";
+        String insertNew = " BEGIN INSERT INTO `" + ftsTable + "`(`docid`" + names + ") VALUES (NEW.`rowid`" + newValues + "); END";
+        statement.execute("CREATE TRIGGER " + triggerPrefix + "BEFORE_UPDATE BEFORE UPDATE ON `" + contentTable + "`" + deleteOld);
+        statement.execute("CREATE TRIGGER " + triggerPrefix + "BEFORE_DELETE BEFORE DELETE ON `" + contentTable + "`" + deleteOld);
+        statement.execute("CREATE TRIGGER " + triggerPrefix + "AFTER_UPDATE AFTER UPDATE ON `" + contentTable + "`" + insertNew);
+        statement.execute("CREATE TRIGGER " + triggerPrefix + "AFTER_INSERT AFTER INSERT ON `" + contentTable + "`" + insertNew);
+    }
+}
@@ -0,0 +1,170 @@
+package com.school.vacationplanner.benchmark;
+
+import com.school.vacationplanner.models.Excursion;
+import com.school.vacationplanner.models.Vacation;
+import com.school.vacationplanner.repo.Converters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// the repository's DAO statements against an in-memory SQLite, hydrated into entities the way Room does it
+// Room needs an Android runtime, so this tracks query plans and row mapping through sqlite-jdbc, not the Android SQLite build
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryBenchmark {
+
+    // constants
+    private static final long START_EPOCH_DAY = LocalDate.of(2025, 1, 1).toEpochDay();
+    private static final int PAGE_SIZE = 50;
+    private static final int SEARCH_LIMIT = 100;
+
+
+    // variables
+    @Param({"1000", "10000"})
+    public int vacationCount;
+
+    @Param({"5"})
+    public int excursionsPerVacation;
+
+    private Connection connection;
+    private PreparedStatement getVacationById;
+    private PreparedStatement getExcursionsOn;
+    private PreparedStatement getExcursionsForVacation;
+    private PreparedStatement getVacationsPageAfter;
+    private PreparedStatement searchVacations;
+    private PreparedStatement insertExcursion;
+    private PreparedStatement deleteExcursion;
+    private long nextId;
+
+
+    // setup
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = PlannerSchema.openInMemory();
+        PlannerSchema.populate(connection, vacationCount, excursionsPerVacation, START_EPOCH_DAY);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        // Room caches compiled statements per query, so these are prepared once
+        getVacationById = connection.prepareStatement(PlannerSchema.GET_VACATION_BY_ID);
+        getExcursionsOn = connection.prepareStatement(PlannerSchema.GET_EXCURSIONS_ON);
+        getExcursionsForVacation = connection.prepareStatement(PlannerSchema.GET_EXCURSIONS_FOR_VACATION);
+        getVacationsPageAfter = connection.prepareStatement(PlannerSchema.GET_VACATIONS_PAGE_AFTER);
+        searchVacations = connection.prepareStatement(PlannerSchema.SEARCH_VACATIONS);
+        insertExcursion = connection.prepareStatement(PlannerSchema.INSERT_EXCURSION, Statement.RETURN_GENERATED_KEYS);
+        deleteExcursion = connection.prepareStatement(PlannerSchema.DELETE_EXCURSION);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+
+    // benchmarks
+    @Benchmark
+    public Vacation getVacationById() throws SQLException {
+        getVacationById.setLong(1, nextId(vacationCount));
+        List<Vacation> vacations = readVacations(getVacationById);
+        return vacations.isEmpty() ? null : vacations.get(0);
+    }
+
+    @Benchmark
+    public List<Excursion> getExcursionsOn() throws SQLException {
+        getExcursionsOn.setLong(1, START_EPOCH_DAY + nextId(365));
+        return readExcursions(getExcursionsOn);
+    }
+
+    @Benchmark
+    public List<Excursion> getExcursionsForVacation() throws SQLException {
+        getExcursionsForVacation.setLong(1, nextId(vacationCount));
+        return readExcursions(getExcursionsForVacation);
+    }
+
+    @Benchmark
+    public List<Vacation> getVacationsPageAfter() throws SQLException {
+        long afterStartDate = START_EPOCH_DAY + nextId(300);
+        getVacationsPageAfter.setLong(1, afterStartDate);
+        getVacationsPageAfter.setLong(2, afterStartDate);
+        getVacationsPageAfter.setLong(3, 0);
+        getVacationsPageAfter.setInt(4, PAGE_SIZE);
+        return readVacations(getVacationsPageAfter);
+    }
+
+    @Benchmark
+    public List<Vacation> searchVacations() throws SQLException {
+        // the MATCH expression VacationPlannerRepository.toMatchQuery builds for "lis"
+        searchVacations.setString(1, "lis*");
+        searchVacations.setString(2, "lis*");
+        searchVacations.setInt(3, SEARCH_LIMIT);
+        return readVacations(searchVacations);
+    }
+
+    // an add followed by a delete, so the table and FTS index stay the same size across iterations
+    @Benchmark
+    public int insertAndDeleteExcursion() throws SQLException {
+        insertExcursion.setString(1, "Benchmark excursion");
+        insertExcursion.setLong(2, START_EPOCH_DAY);
+        insertExcursion.setLong(3, nextId(vacationCount));
+        insertExcursion.executeUpdate();
+        long id;
+        try (ResultSet keys = insertExcursion.getGeneratedKeys()) {
+            keys.next();
+            id = keys.getLong(1);
+        }
+        deleteExcursion.setLong(1, id);
+        return deleteExcursion.executeUpdate();
+    }
+
+
+    // helpers
+    private long nextId(int bound) {
+        nextId = nextId % bound + 1;
+        return nextId;
+    }
+
+    private static List<Vacation> readVacations(PreparedStatement query) throws SQLException {
+        List<Vacation> vacations = new ArrayList<>();
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                Vacation vacation = new Vacation(rows.getString("title"), rows.getString("lodging"),
+                        Converters.fromEpochDay(rows.getLong("start_date")), Converters.fromEpochDay(rows.getLong("end_date")));
+                vacation.setId(rows.getLong("id"));
+                vacations.add(vacation);
+            }
+        }
+        return vacations;
+    }
+
+    private static List<Excursion> readExcursions(PreparedStatement query) throws SQLException {
+        List<Excursion> excursions = new ArrayList<>();
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                Excursion excursion = new Excursion(rows.getString("title"), rows.getLong("vacation_id"),
+                        Converters.fromEpochDay(rows.getLong("date")));
+                excursion.setId(rows.getLong("id"));
+                excursions.add(excursion);
+            }
+        }
+        return excursions;
+    }
+}
@@ -0,0 +1,101 @@
+package com.school.vacationplanner.util;
+
+import com.school.vacationplanner.models.Vacation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// log calls on the bind, query and paging paths with debug logging switched off, eager concatenation against AppLog;
+// run with -Pjmh.profilers=gc and compare gc.alloc.rate.norm, the bytes per call. Lives in AppLog's package for setSink
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AppLogBenchmark {
+
+    // constants
+    private static final String TAG = "AppLogBenchmark";
+
+
+    // variables
+    private Vacation vacation;
+    private List<Vacation> vacations;
+    private AppLog.Sink previousSink;
+    // advanced every call so positions are not constants and leave the small Integer cache
+    private int position = 1_000;
+
+
+    // inner classes
+    private static class SilentSink implements AppLog.Sink {
+        @Override
+        public boolean isLoggable(int priority) {
+            return false;
+        }
+
+        @Override
+        public void println(int priority, String tag, String message, Throwable error) {
+        }
+    }
+
+
+    // setup
+    @Setup
+    public void setUp() {
+        vacation = new Vacation("Rome", "Hotel Roma", LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 7));
+        vacation.setId(4_242);
+        vacations = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            vacations.add(vacation);
+        }
+        previousSink = AppLog.setSink(new SilentSink());
+    }
+
+    @TearDown
+    public void tearDown() {
+        AppLog.setSink(previousSink);
+    }
+
+
+    // benchmarks
+    // eager variants stand in for Log.d: the message is built whether or not logcat keeps it
+    @Benchmark
+    public void bindEager(Blackhole blackhole) {
+        blackhole.consume("onBindViewHolder: Binding vacation at position " + position++ + ", vacation ID:" + vacation.getId());
+    }
+
+    @Benchmark
+    public void bindAppLog() {
+        AppLog.d(TAG, "onBindViewHolder: Binding vacation at position {}, vacation ID:{}", position++, vacation.getId());
+    }
+
+    @Benchmark
+    public void queryEager(Blackhole blackhole) {
+        blackhole.consume("getAllVacations: Retrieved " + vacations.size() + " vacations");
+    }
+
+    @Benchmark
+    public void queryAppLog() {
+        AppLog.d(TAG, "getAllVacations: Retrieved {} vacations", vacations.size());
+    }
+
+    @Benchmark
+    public void pageEager(Blackhole blackhole) {
+        blackhole.consume("onPageLoaded: " + position++ + " vacations loaded, end reached: " + false);
+    }
+
+    @Benchmark
+    public void pageAppLog() {
+        AppLog.d(TAG, "onPageLoaded: {} vacations loaded, end reached: {}", position++, false);
+    }
+}
@@ -0,0 +1,25 @@
+package android.util;
+
+// the parts of android.util.Log that AppLog uses; output is dropped, the benchmarks only measure the call
+public final class Log {
+
+    // constants
+    public static final int DEBUG = 3;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+
+
+    // constructor
+    private Log() {
+    }
+
+
+    // methods
+    public static int println(int priority, String tag, String msg) {
+        return 0;
+    }
+
+    public static String getStackTraceString(Throwable tr) {
+        return "";
+    }
+}
@@ -0,0 +1,13 @@
+package com.school.vacationplanner;
+
+// stands in for the generated class; a debug build, where AppLog's debug calls are compiled in
+public final class BuildConfig {
+
+    // constants
+    public static final boolean DEBUG = true;
+
+
+    // constructor
+    private BuildConfig() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.school.vacationplanner.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+// generates the Baseline Profile from the startup path and list scrolling
+// run with ./gradlew :app:generateBaselineProfile; the plugin copies it into app/src/release/generated/baselineProfiles
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    // constants
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+
+    // variables
+    @Rule
+    public final BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+
+    // generators
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(PlannerJourneys.PACKAGE_NAME, MAX_ITERATIONS, STABLE_ITERATIONS, null,
+                // the startup path also goes into the startup profile, which orders the dex for faster launches
+                true, false,
+                rule -> true,
+                scope -> {
+                    scope.pressHome();
+                    PlannerJourneys.openVacationsFromHome(scope);
+                    PlannerJourneys.ensureScrollableVacations(scope);
+                    PlannerJourneys.scrollVacations(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
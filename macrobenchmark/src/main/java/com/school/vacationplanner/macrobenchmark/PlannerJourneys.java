@@ -0,0 +1,96 @@
+package com.school.vacationplanner.macrobenchmark;
+
+import android.content.ComponentName;
+import android.content.Intent;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.time.LocalDate;
+
+// user journeys shared by the benchmarks and the Baseline Profile generator
+final class PlannerJourneys {
+
+    // constants
+    static final String PACKAGE_NAME = "com.school.vacationplanner";
+    private static final String VACATION_ACTIVITY = PACKAGE_NAME + ".VacationActivity";
+    private static final long TIMEOUT_MS = 5_000;
+    // enough rows to fill several screens, so flings have something to scroll
+    private static final int SEED_VACATIONS = 40;
+
+
+    // constructor
+    private PlannerJourneys() {
+    }
+
+
+    // journeys
+    // the path a user takes: launcher opens HomeActivity, a tap anywhere opens VacationActivity
+    static void openVacationsFromHome(MacrobenchmarkScope scope) {
+        scope.startActivityAndWait();
+        UiDevice device = scope.getDevice();
+        device.findObject(By.res(PACKAGE_NAME, "home_root_view")).click();
+        waitForVacationList(device);
+    }
+
+    static void openVacationsDirectly(MacrobenchmarkScope scope) {
+        scope.startActivityAndWait(vacationActivityIntent());
+        waitForVacationList(scope.getDevice());
+    }
+
+    static void scrollVacations(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 list = waitForVacationList(device);
+        // keeps flings clear of the system gesture areas
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        list.fling(Direction.DOWN);
+        device.waitForIdle();
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    // adds vacations through the dialog when the list is too short to scroll; app data survives between runs
+    static void ensureScrollableVacations(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        if (waitForVacationList(device).isScrollable()) {
+            return;
+        }
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < SEED_VACATIONS; i++) {
+            LocalDate vacationStart = start.plusDays(i * 7L);
+            addVacation(device, "Benchmark vacation " + (i + 1), "Hotel " + (i + 1), vacationStart, vacationStart.plusDays(5));
+        }
+    }
+
+
+    // helpers
+    private static Intent vacationActivityIntent() {
+        Intent intent = new Intent();
+        intent.setComponent(new ComponentName(PACKAGE_NAME, VACATION_ACTIVITY));
+        intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        return intent;
+    }
+
+    private static UiObject2 waitForVacationList(UiDevice device) {
+        UiObject2 list = device.wait(Until.findObject(By.res(PACKAGE_NAME, "vacation_recycler_view")), TIMEOUT_MS);
+        if (list == null) {
+            throw new IllegalStateException("vacation_recycler_view not shown within " + TIMEOUT_MS + " ms");
+        }
+        return list;
+    }
+
+    private static void addVacation(UiDevice device, String title, String lodging, LocalDate startDate, LocalDate endDate) {
+        device.findObject(By.desc("Add Vacation")).click();
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "edit_vacation_title")), TIMEOUT_MS);
+        device.findObject(By.res(PACKAGE_NAME, "edit_vacation_title")).setText(title);
+        device.findObject(By.res(PACKAGE_NAME, "edit_vacation_lodging")).setText(lodging);
+        device.findObject(By.res(PACKAGE_NAME, "edit_vacation_start_date")).setText(startDate.toString());
+        device.findObject(By.res(PACKAGE_NAME, "edit_vacation_end_date")).setText(endDate.toString());
+        device.findObject(By.res(PACKAGE_NAME, "vacation_save_button")).click();
+        device.wait(Until.gone(By.res(PACKAGE_NAME, "edit_vacation_title")), TIMEOUT_MS);
+    }
+}
@@ -0,0 +1,64 @@
+package com.school.vacationplanner.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import kotlin.Unit;
+
+// frame timing while flinging vacation_recycler_view down and back up, which exercises view holder binding
+@RunWith(Parameterized.class)
+public class ScrollBenchmark {
+
+    // constants
+    private static final int ITERATIONS = 10;
+
+
+    // variables
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+
+    // constructor
+    public ScrollBenchmark(String name, CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> compilationModes() {
+        return Arrays.asList(new Object[][]{
+                {"none", new CompilationMode.None()},
+                {"baselineProfile", new CompilationMode.Partial(BaselineProfileMode.Require)},
+        });
+    }
+
+
+    // benchmarks
+    @Test
+    public void scrollVacations() {
+        benchmarkRule.measureRepeated(PlannerJourneys.PACKAGE_NAME, Collections.singletonList(new FrameTimingMetric()),
+                compilationMode, StartupMode.WARM, ITERATIONS,
+                scope -> {
+                    PlannerJourneys.openVacationsDirectly(scope);
+                    PlannerJourneys.ensureScrollableVacations(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    PlannerJourneys.scrollVacations(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
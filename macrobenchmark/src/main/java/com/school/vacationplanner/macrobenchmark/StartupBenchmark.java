@@ -0,0 +1,90 @@
+package com.school.vacationplanner.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import kotlin.Unit;
+
+// cold and warm start of the launcher activity, and cold start straight into VacationActivity,
+// which opens Room and checks the one-time reminder schedule in onCreate
+// each runs without AOT compilation and with the Baseline Profile, so the profile's gain shows up side by side
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    // constants
+    private static final int ITERATIONS = 10;
+
+
+    // variables
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+
+    // constructor
+    public StartupBenchmark(String name, CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> compilationModes() {
+        return Arrays.asList(new Object[][]{
+                {"none", new CompilationMode.None()},
+                {"baselineProfile", new CompilationMode.Partial(BaselineProfileMode.Require)},
+        });
+    }
+
+
+    // benchmarks
+    @Test
+    public void coldStartup() {
+        measureStartup(StartupMode.COLD);
+    }
+
+    @Test
+    public void warmStartup() {
+        measureStartup(StartupMode.WARM);
+    }
+
+    @Test
+    public void coldStartupToVacations() {
+        benchmarkRule.measureRepeated(PlannerJourneys.PACKAGE_NAME, Collections.singletonList(new StartupTimingMetric()),
+                compilationMode, StartupMode.COLD, ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    PlannerJourneys.openVacationsDirectly(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+
+    // helpers
+    private void measureStartup(StartupMode startupMode) {
+        benchmarkRule.measureRepeated(PlannerJourneys.PACKAGE_NAME, Collections.singletonList(new StartupTimingMetric()),
+                compilationMode, startupMode, ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                });
+    }
+}